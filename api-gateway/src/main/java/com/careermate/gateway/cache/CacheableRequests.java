@@ -0,0 +1,105 @@
+package com.careermate.gateway.cache;
+
+import com.careermate.gateway.config.ResponseCacheProperties;
+import com.careermate.gateway.config.ResponseCacheProperties.RouteCache;
+import com.careermate.gateway.filter.JwtAuthenticationGlobalFilter;
+import io.jsonwebtoken.Claims;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Decides which gateway GETs count as cacheable (gateway.response-cache routes and paths)
+ * and what key identical requests share. Used by both the response cache and coalescing.
+ */
+@Component
+public class CacheableRequests {
+
+    // Only representation headers are replayed; CORS and the like belong to each request
+    private static final List<String> STORED_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_ENCODING, HttpHeaders.CONTENT_LANGUAGE,
+            HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED);
+
+    private final ResponseCacheProperties properties;
+    private final Map<String, List<PathPattern>> patterns = new ConcurrentHashMap<>();
+
+    public CacheableRequests(ResponseCacheProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Returns the route's cache settings, or null when the request is not a cacheable GET.
+     */
+    public RouteCache routeConfig(ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (!properties.isEnabled() || request.getMethod() != HttpMethod.GET || route == null) {
+            return null;
+        }
+        RouteCache config = properties.getRoutes().get(route.getId());
+        if (config == null || !matches(route.getId(), config, request.getPath().value())) {
+            return null;
+        }
+        return config;
+    }
+
+    // Query parameters are sorted so ?a=1&b=2 and ?b=2&a=1 share a key
+    public String key(ServerWebExchange exchange, String routeId, RouteCache config) {
+        ServerHttpRequest request = exchange.getRequest();
+        StringBuilder key = new StringBuilder(routeId).append('|').append(request.getPath().value());
+        Map<String, List<String>> query = new TreeMap<>(request.getQueryParams());
+        if (!query.isEmpty()) {
+            key.append('?').append(query);
+        }
+        if (config.isVaryByUser()) {
+            Claims claims = exchange.getAttribute(JwtAuthenticationGlobalFilter.CLAIMS_ATTRIBUTE);
+            key.append("|user:").append(claims != null ? claims.getSubject() : "-");
+        }
+        return key.toString();
+    }
+
+    public static boolean isStorable(HttpHeaders headers) {
+        if (headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return false;
+        }
+        String cacheControl = headers.getCacheControl();
+        return cacheControl == null || !(cacheControl.contains("no-store") || cacheControl.contains("private"));
+    }
+
+    public static HttpHeaders storedHeaders(HttpHeaders headers) {
+        HttpHeaders stored = new HttpHeaders();
+        for (String name : STORED_HEADERS) {
+            List<String> values = headers.get(name);
+            if (values != null) {
+                stored.put(name, values);
+            }
+        }
+        return stored;
+    }
+
+    private boolean matches(String routeId, RouteCache config, String path) {
+        List<PathPattern> compiled = patterns.computeIfAbsent(routeId, id -> config.getPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .collect(Collectors.toList()));
+        PathContainer container = PathContainer.parsePath(path);
+        for (PathPattern pattern : compiled) {
+            if (pattern.matches(container)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,46 @@
+package com.careermate.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * A stored 200 response. It is fresh until {@code freshUntil}, may be served while it is
+ * refreshed until {@code revalidateUntil}, and may stand in for a failing upstream until
+ * {@code staleIfErrorUntil}.
+ */
+public class CachedResponse {
+
+    private final HttpHeaders headers;
+    private final byte[] body;
+    private final long freshUntil;
+    private final long revalidateUntil;
+    private final long staleIfErrorUntil;
+
+    public CachedResponse(HttpHeaders headers, byte[] body, long freshUntil, long revalidateUntil,
+                          long staleIfErrorUntil) {
+        this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+        this.body = body;
+        this.freshUntil = freshUntil;
+        this.revalidateUntil = revalidateUntil;
+        this.staleIfErrorUntil = staleIfErrorUntil;
+    }
+
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public boolean isFresh(long now) {
+        return now < freshUntil;
+    }
+
+    public boolean isRevalidatable(long now) {
+        return now < revalidateUntil;
+    }
+
+    public boolean isUsableOnError(long now) {
+        return now < staleIfErrorUntil;
+    }
+}
@@ -0,0 +1,39 @@
+package com.careermate.gateway.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU of cached responses. Entries stay until evicted or past their stale-if-error
+ * window, since an old copy is still worth having while an upstream is down.
+ */
+public class ResponseCache {
+
+    private final Map<String, CachedResponse> entries;
+
+    public ResponseCache(int maxEntries) {
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public synchronized CachedResponse get(String key, long now) {
+        CachedResponse entry = entries.get(key);
+        if (entry != null && !entry.isUsableOnError(now)) {
+            entries.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    public synchronized void put(String key, CachedResponse response) {
+        entries.put(key, response);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
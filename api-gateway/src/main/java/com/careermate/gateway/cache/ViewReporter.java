@@ -0,0 +1,130 @@
+package com.careermate.gateway.cache;
+
+import com.careermate.gateway.config.ResponseCacheProperties;
+import com.careermate.gateway.config.ResponseCacheProperties.RouteCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts views of responses the gateway served itself (cache hits, coalesced copies) and
+ * reports them to the backend in batches, so per-item view counters such as job-service's
+ * trending ranking still see every view. Counts that fail to send are kept for the next batch.
+ */
+@Component
+public class ViewReporter {
+
+    private static final Logger log = LoggerFactory.getLogger(ViewReporter.class);
+
+    private final ResponseCacheProperties properties;
+    private final WebClient webClient;
+
+    private final Map<String, PathPattern> patterns = new ConcurrentHashMap<>();
+    // Report URI -> id -> views since the last report
+    private final Map<URI, Map<Long, LongAdder>> pending = new ConcurrentHashMap<>();
+
+    public ViewReporter(ResponseCacheProperties properties, WebClient.Builder loadBalancedWebClientBuilder) {
+        this.properties = properties;
+        this.webClient = loadBalancedWebClientBuilder.build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Duration interval = Duration.ofMillis(properties.getViewReportIntervalMs());
+        Flux.interval(interval, interval)
+                .concatMap(tick -> flush())
+                .subscribe();
+    }
+
+    public void record(ServerWebExchange exchange, Route route, RouteCache config) {
+        if (config.getViewPath() == null || config.getViewReportPath() == null) {
+            return;
+        }
+        PathPattern pattern = patterns.computeIfAbsent(config.getViewPath(), PathPatternParser.defaultInstance::parse);
+        PathPattern.PathMatchInfo match = pattern.matchAndExtract(
+                PathContainer.parsePath(exchange.getRequest().getPath().value()));
+        if (match == null) {
+            return;
+        }
+        Long id;
+        try {
+            id = Long.valueOf(match.getUriVariables().get("id"));
+        } catch (NumberFormatException e) {
+            return;
+        }
+        add(pending.computeIfAbsent(reportUri(route, config), uri -> new ConcurrentHashMap<>()), id, 1);
+    }
+
+    // Counted inside compute() so send() cannot drop the counter as idle between the lookup and the add
+    private static void add(Map<Long, LongAdder> counters, Long id, long views) {
+        counters.compute(id, (key, counter) -> {
+            LongAdder target = counter != null ? counter : new LongAdder();
+            target.add(views);
+            return target;
+        });
+    }
+
+    private Mono<Void> flush() {
+        return Flux.fromIterable(pending.entrySet())
+                .concatMap(entry -> send(entry.getKey(), entry.getValue()))
+                .then();
+    }
+
+    private Mono<Void> send(URI uri, Map<Long, LongAdder> counters) {
+        Map<Long, Long> batch = new HashMap<>();
+        counters.forEach((id, counter) -> {
+            long views = counter.sumThenReset();
+            if (views > 0) {
+                batch.put(id, views);
+            } else {
+                // Drop idle counters so the map only holds items viewed since the last report
+                counters.computeIfPresent(id, (key, idle) -> idle.sum() == 0 ? null : idle);
+            }
+        });
+        if (batch.isEmpty()) {
+            return Mono.empty();
+        }
+        return webClient.post()
+                .uri(uri)
+                .bodyValue(batch)
+                .retrieve()
+                .toBodilessEntity()
+                .timeout(Duration.ofSeconds(5))
+                .then()
+                .onErrorResume(e -> {
+                    log.warn("Could not report {} viewed items to {}, will retry: {}", batch.size(), uri, e.getMessage());
+                    batch.forEach((id, views) -> add(counters, id, views));
+                    return Mono.empty();
+                });
+    }
+
+    private static URI reportUri(Route route, RouteCache config) {
+        URI routeUri = route.getUri();
+        String scheme = "lb".equals(routeUri.getScheme()) ? "http" : routeUri.getScheme();
+        return UriComponentsBuilder.newInstance()
+                .scheme(scheme)
+                .host(routeUri.getHost())
+                .port(routeUri.getPort())
+                .path(config.getViewReportPath())
+                .build()
+                .toUri();
+    }
+}
@@ -0,0 +1,100 @@
+package com.careermate.gateway.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Learns how many requests a backend can have in flight before it starts queueing, in the
+ * style of the gradient limiters: a long-term RTT average stands in for the unloaded latency,
+ * and whenever recent RTTs rise above it (beyond a tolerance) the limit shrinks by the ratio.
+ * Otherwise it grows by roughly the square root of the limit, so it probes for headroom.
+ *
+ * Admission is lock-free; samples are folded in under the instance lock.
+ */
+public class GradientConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final double smoothing;
+    private final int longWindow;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    private double estimatedLimit;
+    private double longRttNanos;
+    private int samples;
+
+    public GradientConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double rttTolerance, double smoothing, int longWindow) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttTolerance = rttTolerance;
+        this.smoothing = smoothing;
+        this.longWindow = longWindow;
+        this.estimatedLimit = Math.max(minLimit, Math.min(initialLimit, maxLimit));
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Takes a slot if fewer than {@code share} of the current limit are in flight.
+     * Every successful call must be matched by {@link #onSample} or {@link #onIgnore}.
+     */
+    public boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a slot and learns from its round trip. Dropped requests (timeouts, overload
+     * responses) back the limit off directly since their RTT says nothing useful.
+     */
+    public void onSample(long rttNanos, boolean dropped) {
+        int inFlightAtStart = inFlight.getAndDecrement();
+        synchronized (this) {
+            double next;
+            if (dropped) {
+                next = estimatedLimit * 0.9;
+            } else {
+                if (samples < longWindow) {
+                    samples++;
+                }
+                longRttNanos = longRttNanos == 0 ? rttNanos : longRttNanos + (rttNanos - longRttNanos) / samples;
+                // After a sustained drop in latency let the baseline catch up quickly
+                if (longRttNanos / rttNanos > 2) {
+                    longRttNanos = longRttNanos * 0.95;
+                }
+                // Only grow while the limit is actually being used
+                if (inFlightAtStart < estimatedLimit / 2) {
+                    return;
+                }
+                double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRttNanos / rttNanos));
+                double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+                next = estimatedLimit * (1 - smoothing) + target * smoothing;
+            }
+            estimatedLimit = Math.max(minLimit, Math.min(maxLimit, next));
+            limit = (int) estimatedLimit;
+        }
+    }
+
+    // Releases a slot without learning from it, e.g. when the client went away
+    public void onIgnore() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
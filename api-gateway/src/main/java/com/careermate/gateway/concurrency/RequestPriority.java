@@ -0,0 +1,11 @@
+package com.careermate.gateway.concurrency;
+
+/**
+ * Admission class of a request. Lower classes may only use part of a route's learned
+ * limit, so under pressure they are shed first and the remainder stays free for the rest.
+ */
+public enum RequestPriority {
+    CRITICAL,
+    NORMAL,
+    SHEDDABLE
+}
@@ -0,0 +1,47 @@
+package com.careermate.gateway.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed in-flight limit shared by every route, so request priorities compete across
+ * services: when the gateway as a whole is busy, sheddable searches are turned away
+ * while logins and token refreshes still get through.
+ */
+public class SharedConcurrencyLimit {
+
+    private final int limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public SharedConcurrencyLimit(int limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Takes a slot if fewer than {@code share} of the limit are in flight. Every successful
+     * call must be matched by {@link #release}.
+     */
+    public boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
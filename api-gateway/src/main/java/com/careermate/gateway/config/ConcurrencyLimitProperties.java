@@ -0,0 +1,186 @@
+package com.careermate.gateway.config;
+
+import com.careermate.gateway.concurrency.RequestPriority;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "gateway.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    // Every route starts here and learns its own limit from observed RTTs
+    private int initialLimit = 20;
+
+    private int minLimit = 4;
+
+    private int maxLimit = 500;
+
+    // How far recent RTTs may rise above the long-term average before the limit shrinks
+    private double rttTolerance = 1.5;
+
+    // Weight of each new estimate, 0..1
+    private double smoothing = 0.2;
+
+    // Samples averaged into the long-term RTT
+    private int longWindow = 600;
+
+    private long retryAfterSeconds = 1;
+
+    // In-flight requests across all routes, where priorities compete between services; 0 turns it off
+    private int gatewayLimit = 400;
+
+    // Fractions of the limit lower priorities may occupy; CRITICAL may use all of it
+    private double normalShare = 0.9;
+
+    private double sheddableShare = 0.7;
+
+    // First matching rule wins; unmatched requests are NORMAL
+    private List<PriorityRule> priorities = new ArrayList<>();
+
+    public double shareOf(RequestPriority priority) {
+        switch (priority) {
+            case CRITICAL:
+                return 1.0;
+            case SHEDDABLE:
+                return sheddableShare;
+            default:
+                return normalShare;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public double getRttTolerance() {
+        return rttTolerance;
+    }
+
+    public void setRttTolerance(double rttTolerance) {
+        this.rttTolerance = rttTolerance;
+    }
+
+    public double getSmoothing() {
+        return smoothing;
+    }
+
+    public void setSmoothing(double smoothing) {
+        this.smoothing = smoothing;
+    }
+
+    public int getLongWindow() {
+        return longWindow;
+    }
+
+    public void setLongWindow(int longWindow) {
+        this.longWindow = longWindow;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public void setRetryAfterSeconds(long retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getGatewayLimit() {
+        return gatewayLimit;
+    }
+
+    public void setGatewayLimit(int gatewayLimit) {
+        this.gatewayLimit = gatewayLimit;
+    }
+
+    public double getNormalShare() {
+        return normalShare;
+    }
+
+    public void setNormalShare(double normalShare) {
+        this.normalShare = normalShare;
+    }
+
+    public double getSheddableShare() {
+        return sheddableShare;
+    }
+
+    public void setSheddableShare(double sheddableShare) {
+        this.sheddableShare = sheddableShare;
+    }
+
+    public List<PriorityRule> getPriorities() {
+        return priorities;
+    }
+
+    public void setPriorities(List<PriorityRule> priorities) {
+        this.priorities = priorities;
+    }
+
+    public static class PriorityRule {
+
+        // Null matches any method
+        private String method;
+
+        // Path pattern, e.g. /api/jobs/{id}/apply
+        private String path;
+
+        private RequestPriority priority = RequestPriority.NORMAL;
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public RequestPriority getPriority() {
+            return priority;
+        }
+
+        public void setPriority(RequestPriority priority) {
+            this.priority = priority;
+        }
+    }
+}
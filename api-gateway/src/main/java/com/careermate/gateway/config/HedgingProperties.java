@@ -0,0 +1,115 @@
+package com.careermate.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "gateway.hedging")
+public class HedgingProperties {
+
+    private boolean enabled = true;
+
+    // Latency percentiles are computed over the last one to two windows
+    private long windowMs = 10_000;
+
+    // Per route id; only listed routes are hedged, and only their GETs
+    private Map<String, RouteHedging> routes = new HashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getWindowMs() {
+        return windowMs;
+    }
+
+    public void setWindowMs(long windowMs) {
+        this.windowMs = windowMs;
+    }
+
+    public Map<String, RouteHedging> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, RouteHedging> routes) {
+        this.routes = routes;
+    }
+
+    public static class RouteHedging {
+
+        // Path patterns of idempotent GETs that may be sent twice
+        private List<String> paths = new ArrayList<>();
+
+        // Hedge once the first attempt is slower than this share of recent requests
+        private double percentile = 0.95;
+
+        // Never hedge sooner than this, however fast the route usually is
+        private long minDelayMs = 10;
+
+        // No hedging until the window holds this many samples
+        private long minSamples = 100;
+
+        // Hedges may add at most this percentage on top of the route's requests
+        private double budgetPercent = 10;
+
+        // Hedges allowed per second regardless of traffic
+        private double minPerSecond = 1;
+
+        public List<String> getPaths() {
+            return paths;
+        }
+
+        public void setPaths(List<String> paths) {
+            this.paths = paths;
+        }
+
+        public double getPercentile() {
+            return percentile;
+        }
+
+        public void setPercentile(double percentile) {
+            this.percentile = percentile;
+        }
+
+        public long getMinDelayMs() {
+            return minDelayMs;
+        }
+
+        public void setMinDelayMs(long minDelayMs) {
+            this.minDelayMs = minDelayMs;
+        }
+
+        public long getMinSamples() {
+            return minSamples;
+        }
+
+        public void setMinSamples(long minSamples) {
+            this.minSamples = minSamples;
+        }
+
+        public double getBudgetPercent() {
+            return budgetPercent;
+        }
+
+        public void setBudgetPercent(double budgetPercent) {
+            this.budgetPercent = budgetPercent;
+        }
+
+        public double getMinPerSecond() {
+            return minPerSecond;
+        }
+
+        public void setMinPerSecond(double minPerSecond) {
+            this.minPerSecond = minPerSecond;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.careermate.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "gateway.load-balancer")
+public class LatencyLoadBalancerProperties {
+
+    private boolean enabled = true;
+
+    // Time constant of the latency EWMA; older samples fade out over roughly this long
+    private long decayMs = 10_000;
+
+    // Latency assumed for an instance without samples while none of its peers has any either
+    private long initialLatencyMs = 100;
+
+    // Consecutive failures (errors or 5xx) that eject an instance
+    private int failureThreshold = 5;
+
+    // An instance whose EWMA is this many times the service median is ejected as an outlier
+    private double latencyOutlierFactor = 3.0;
+
+    // First ejection; repeated ejections double it up to maxEjectionMs
+    private long ejectionMs = 30_000;
+
+    private long maxEjectionMs = 300_000;
+
+    // Never eject more than this share of a service's instances at once
+    private int maxEjectionPercent = 50;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getDecayMs() {
+        return decayMs;
+    }
+
+    public void setDecayMs(long decayMs) {
+        this.decayMs = decayMs;
+    }
+
+    public long getInitialLatencyMs() {
+        return initialLatencyMs;
+    }
+
+    public void setInitialLatencyMs(long initialLatencyMs) {
+        this.initialLatencyMs = initialLatencyMs;
+    }
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    public void setFailureThreshold(int failureThreshold) {
+        this.failureThreshold = failureThreshold;
+    }
+
+    public double getLatencyOutlierFactor() {
+        return latencyOutlierFactor;
+    }
+
+    public void setLatencyOutlierFactor(double latencyOutlierFactor) {
+        this.latencyOutlierFactor = latencyOutlierFactor;
+    }
+
+    public long getEjectionMs() {
+        return ejectionMs;
+    }
+
+    public void setEjectionMs(long ejectionMs) {
+        this.ejectionMs = ejectionMs;
+    }
+
+    public long getMaxEjectionMs() {
+        return maxEjectionMs;
+    }
+
+    public void setMaxEjectionMs(long maxEjectionMs) {
+        this.maxEjectionMs = maxEjectionMs;
+    }
+
+    public int getMaxEjectionPercent() {
+        return maxEjectionPercent;
+    }
+
+    public void setMaxEjectionPercent(int maxEjectionPercent) {
+        this.maxEjectionPercent = maxEjectionPercent;
+    }
+}
@@ -0,0 +1,139 @@
+package com.careermate.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private boolean enabled = true;
+
+    // Redis calls slower than this fall back to the local buckets
+    private long redisTimeoutMs = 50;
+
+    // After a Redis failure, stay on the local buckets this long before trying again
+    private long redisRetryAfterMs = 5000;
+
+    // Upper bound on buckets kept in memory by the fallback
+    private int maxLocalBuckets = 100_000;
+
+    private Limit defaultLimit = new Limit(60, 10);
+
+    // Per route id; each may override limits per role
+    private Map<String, Limit> routes = new HashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getRedisTimeoutMs() {
+        return redisTimeoutMs;
+    }
+
+    public void setRedisTimeoutMs(long redisTimeoutMs) {
+        this.redisTimeoutMs = redisTimeoutMs;
+    }
+
+    public long getRedisRetryAfterMs() {
+        return redisRetryAfterMs;
+    }
+
+    public void setRedisRetryAfterMs(long redisRetryAfterMs) {
+        this.redisRetryAfterMs = redisRetryAfterMs;
+    }
+
+    public int getMaxLocalBuckets() {
+        return maxLocalBuckets;
+    }
+
+    public void setMaxLocalBuckets(int maxLocalBuckets) {
+        this.maxLocalBuckets = maxLocalBuckets;
+    }
+
+    public Limit getDefaultLimit() {
+        return defaultLimit;
+    }
+
+    public void setDefaultLimit(Limit defaultLimit) {
+        this.defaultLimit = defaultLimit;
+    }
+
+    public Map<String, Limit> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, Limit> routes) {
+        this.routes = routes;
+    }
+
+    /**
+     * Limit for a route and role: the route's override for the role, else the route's own
+     * limit, else the default override for the role, else the default. The role may be the
+     * JWT claim as issued ({@code ROLE_ADMIN}); overrides are keyed without the prefix.
+     */
+    public Limit resolve(String routeId, String role) {
+        if (role != null && role.startsWith(ROLE_PREFIX)) {
+            role = role.substring(ROLE_PREFIX.length());
+        }
+        Limit route = routeId != null ? routes.get(routeId) : null;
+        if (route != null) {
+            Limit routeRole = role != null ? route.getRoles().get(role) : null;
+            return routeRole != null ? routeRole : route;
+        }
+        Limit defaultRole = role != null ? defaultLimit.getRoles().get(role) : null;
+        return defaultRole != null ? defaultRole : defaultLimit;
+    }
+
+    public static class Limit {
+
+        // Burst size
+        private int capacity;
+
+        // Sustained rate
+        private double refillPerSecond;
+
+        private Map<String, Limit> roles = new HashMap<>();
+
+        public Limit() {
+        }
+
+        public Limit(int capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public double getRefillPerSecond() {
+            return refillPerSecond;
+        }
+
+        public void setRefillPerSecond(double refillPerSecond) {
+            this.refillPerSecond = refillPerSecond;
+        }
+
+        public Map<String, Limit> getRoles() {
+            return roles;
+        }
+
+        public void setRoles(Map<String, Limit> roles) {
+            this.roles = roles;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.careermate.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "gateway.response-cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+
+    private int maxEntries = 10_000;
+
+    // Larger responses are passed through without being cached
+    private int maxBodyBytes = 256 * 1024;
+
+    // Collapse concurrent identical cacheable GETs into one upstream call
+    private boolean coalesce = true;
+
+    // Followers stop waiting on the leading request after this and go upstream themselves
+    private long coalesceTimeoutMs = 10_000;
+
+    // How often views served from the gateway are reported to the backends
+    private long viewReportIntervalMs = 5_000;
+
+    // Per route id; routes not listed are never cached
+    private Map<String, RouteCache> routes = new HashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public int getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    public void setMaxBodyBytes(int maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    public boolean isCoalesce() {
+        return coalesce;
+    }
+
+    public void setCoalesce(boolean coalesce) {
+        this.coalesce = coalesce;
+    }
+
+    public long getCoalesceTimeoutMs() {
+        return coalesceTimeoutMs;
+    }
+
+    public void setCoalesceTimeoutMs(long coalesceTimeoutMs) {
+        this.coalesceTimeoutMs = coalesceTimeoutMs;
+    }
+
+    public long getViewReportIntervalMs() {
+        return viewReportIntervalMs;
+    }
+
+    public void setViewReportIntervalMs(long viewReportIntervalMs) {
+        this.viewReportIntervalMs = viewReportIntervalMs;
+    }
+
+    public Map<String, RouteCache> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, RouteCache> routes) {
+        this.routes = routes;
+    }
+
+    public static class RouteCache {
+
+        // Path patterns of cacheable GETs, e.g. /api/jobs/{id:\d+}
+        private List<String> paths = new ArrayList<>();
+
+        private long ttlMs = 30_000;
+
+        // After the TTL, serve the old response while one request refreshes it
+        private long staleWhileRevalidateMs = 60_000;
+
+        // After the TTL, serve the old response when the upstream fails or its breaker is open
+        private long staleIfErrorMs = 600_000;
+
+        // Resilience4j circuit breaker guarding the route, checked before calling upstream
+        private String circuitBreaker;
+
+        // Cache per JWT subject instead of one shared copy
+        private boolean varyByUser;
+
+        // Pattern with an {id} variable for requests the backend counts as views, e.g. /api/jobs/{id:\d+}
+        private String viewPath;
+
+        // Backend path taking a JSON map of id to views the gateway served on its behalf
+        private String viewReportPath;
+
+        public List<String> getPaths() {
+            return paths;
+        }
+
+        public void setPaths(List<String> paths) {
+            this.paths = paths;
+        }
+
+        public long getTtlMs() {
+            return ttlMs;
+        }
+
+        public void setTtlMs(long ttlMs) {
+            this.ttlMs = ttlMs;
+        }
+
+        public long getStaleWhileRevalidateMs() {
+            return staleWhileRevalidateMs;
+        }
+
+        public void setStaleWhileRevalidateMs(long staleWhileRevalidateMs) {
+            this.staleWhileRevalidateMs = staleWhileRevalidateMs;
+        }
+
+        public long getStaleIfErrorMs() {
+            return staleIfErrorMs;
+        }
+
+        public void setStaleIfErrorMs(long staleIfErrorMs) {
+            this.staleIfErrorMs = staleIfErrorMs;
+        }
+
+        public String getCircuitBreaker() {
+            return circuitBreaker;
+        }
+
+        public void setCircuitBreaker(String circuitBreaker) {
+            this.circuitBreaker = circuitBreaker;
+        }
+
+        public boolean isVaryByUser() {
+            return varyByUser;
+        }
+
+        public void setVaryByUser(boolean varyByUser) {
+            this.varyByUser = varyByUser;
+        }
+
+        public String getViewPath() {
+            return viewPath;
+        }
+
+        public void setViewPath(String viewPath) {
+            this.viewPath = viewPath;
+        }
+
+        public String getViewReportPath() {
+            return viewReportPath;
+        }
+
+        public void setViewReportPath(String viewReportPath) {
+            this.viewReportPath = viewReportPath;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.careermate.gateway.config;
+
+import com.careermate.gateway.loadbalancer.InFlightTrackingExchangeFilterFunction;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+@Configuration
+public class WebClientConfig {
+
+    // Resolves http://<service-id>/... through Eureka. Filters added here wrap the load balancer's
+    @Bean
+    @LoadBalanced
+    public WebClient.Builder loadBalancedWebClientBuilder() {
+        return WebClient.builder().filter(new InFlightTrackingExchangeFilterFunction());
+    }
+}
@@ -0,0 +1,129 @@
+package com.careermate.gateway.filter;
+
+import com.careermate.gateway.config.AccessLogProperties;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes one JSON line per request to the {@code gateway.access} logger, which logback
+ * hands to an asynchronous, non-blocking appender. Successful requests are sampled per
+ * route; errors and slow requests are always kept. A per-second cap bounds the volume
+ * whatever the traffic, and lines over it are counted instead of written.
+ */
+@Component
+public class AccessLogFilter implements GlobalFilter, Ordered {
+
+    private static final Logger accessLog = LoggerFactory.getLogger("gateway.access");
+    private static final Logger log = LoggerFactory.getLogger(AccessLogFilter.class);
+
+    private final AccessLogProperties properties;
+    private final Counter dropped;
+
+    private final AtomicLong windowSecond = new AtomicLong();
+    private final AtomicInteger windowCount = new AtomicInteger();
+
+    public AccessLogFilter(AccessLogProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.dropped = Counter.builder("gateway.access_log.dropped")
+                .description("Access log lines skipped by the per-second cap")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        long startNanos = System.nanoTime();
+        return chain.filter(exchange)
+                .doOnError(e -> log.warn("Request {} {} failed: {}",
+                        exchange.getRequest().getMethod(), exchange.getRequest().getPath(), e.toString()))
+                .doFinally(signal -> record(exchange, (System.nanoTime() - startNanos) / 1_000_000));
+    }
+
+    private void record(ServerWebExchange exchange, long durationMs) {
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        int code = status != null ? status.value() : 0;
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : null;
+
+        boolean alwaysLog = code == 0 || code >= 500 || durationMs >= properties.getSlowThresholdMs();
+        if (!alwaysLog) {
+            Double routeRate = routeId != null ? properties.getRouteSampleRates().get(routeId) : null;
+            double rate = routeRate != null ? routeRate : properties.getSampleRate();
+            if (rate <= 0 || (rate < 1 && ThreadLocalRandom.current().nextDouble() >= rate)) {
+                return;
+            }
+        }
+        if (!tryAcquire()) {
+            dropped.increment();
+            return;
+        }
+
+        Claims claims = exchange.getAttribute(JwtAuthenticationGlobalFilter.CLAIMS_ATTRIBUTE);
+        StringBuilder line = new StringBuilder(256).append('{');
+        field(line, "ts", String.valueOf(System.currentTimeMillis()), false).append(',');
+        field(line, "method", String.valueOf(exchange.getRequest().getMethod()), true).append(',');
+        field(line, "path", exchange.getRequest().getPath().value(), true).append(',');
+        field(line, "route", routeId, true).append(',');
+        field(line, "status", String.valueOf(code), false).append(',');
+        field(line, "durationMs", String.valueOf(durationMs), false).append(',');
+        field(line, "user", claims != null ? claims.getSubject() : null, true).append(',');
+        field(line, "requestId", exchange.getRequest().getId(), true);
+        accessLog.info(line.append('}').toString());
+    }
+
+    // Fixed one-second window; a little over the cap at a window edge is fine
+    private boolean tryAcquire() {
+        long second = System.currentTimeMillis() / 1000;
+        long current = windowSecond.get();
+        if (second != current && windowSecond.compareAndSet(current, second)) {
+            windowCount.set(0);
+        }
+        return windowCount.incrementAndGet() <= properties.getMaxPerSecond();
+    }
+
+    private static StringBuilder field(StringBuilder line, String name, String value, boolean quoted) {
+        line.append('"').append(name).append("\":");
+        if (value == null) {
+            return line.append("null");
+        }
+        if (!quoted) {
+            return line.append(value);
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                line.append('\\').append(c);
+            } else if (c < 0x20) {
+                line.append(String.format("\\u%04x", (int) c));
+            } else {
+                line.append(c);
+            }
+        }
+        return line.append('"');
+    }
+
+    @Override
+    public int getOrder() {
+        // Outermost, so the duration covers the other filters too
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,151 @@
+package com.careermate.gateway.filter;
+
+import com.careermate.gateway.concurrency.GradientConcurrencyLimiter;
+import com.careermate.gateway.concurrency.RequestPriority;
+import com.careermate.gateway.concurrency.SharedConcurrencyLimit;
+import com.careermate.gateway.config.ConcurrencyLimitProperties;
+import com.careermate.gateway.config.ConcurrencyLimitProperties.PriorityRule;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Adaptive in-flight limit per route under a fixed gateway-wide limit. Requests beyond what
+ * the backend handles without queueing are shed with 503 and Retry-After before they reach
+ * it, lowest priority first. Priorities apply to both limits: per route they rank requests
+ * to the same service, gateway-wide they let e.g. token refreshes win over job searches.
+ * Runs inside the response cache and coalescing so only real upstream calls are counted.
+ */
+@Component
+public class ConcurrencyLimitFilter implements GlobalFilter, Ordered {
+
+    private final ConcurrencyLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, GradientConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+    private final List<CompiledRule> rules;
+    private final SharedConcurrencyLimit gatewayLimit;
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.rules = properties.getPriorities().stream()
+                .map(CompiledRule::new)
+                .collect(Collectors.toList());
+        this.gatewayLimit = properties.getGatewayLimit() > 0
+                ? new SharedConcurrencyLimit(properties.getGatewayLimit())
+                : null;
+        if (gatewayLimit != null) {
+            Gauge.builder("gateway.concurrency.gateway_in_flight", gatewayLimit, SharedConcurrencyLimit::getInFlight)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (!properties.isEnabled() || route == null) {
+            return chain.filter(exchange);
+        }
+        String routeId = route.getId();
+        GradientConcurrencyLimiter limiter = limiters.computeIfAbsent(routeId, this::newLimiter);
+        RequestPriority priority = priorityOf(exchange.getRequest());
+        double share = properties.shareOf(priority);
+
+        if (gatewayLimit != null && !gatewayLimit.tryAcquire(share)) {
+            return reject(exchange, routeId, priority, "gateway");
+        }
+        if (!limiter.tryAcquire(share)) {
+            if (gatewayLimit != null) {
+                gatewayLimit.release();
+            }
+            return reject(exchange, routeId, priority, "route");
+        }
+
+        long start = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    if (gatewayLimit != null) {
+                        gatewayLimit.release();
+                    }
+                    if (signal == SignalType.CANCEL) {
+                        limiter.onIgnore();
+                        return;
+                    }
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    boolean dropped = signal == SignalType.ON_ERROR
+                            || (status != null && (status.value() == HttpStatus.SERVICE_UNAVAILABLE.value()
+                            || status.value() == HttpStatus.GATEWAY_TIMEOUT.value()));
+                    limiter.onSample(System.nanoTime() - start, dropped);
+                });
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, String routeId, RequestPriority priority, String scope) {
+        meterRegistry.counter("gateway.concurrency.rejected", "route", routeId,
+                "priority", priority.name(), "scope", scope).increment();
+        exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER,
+                String.valueOf(properties.getRetryAfterSeconds()));
+        return exchange.getResponse().setComplete();
+    }
+
+    private GradientConcurrencyLimiter newLimiter(String routeId) {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(
+                properties.getInitialLimit(), properties.getMinLimit(), properties.getMaxLimit(),
+                properties.getRttTolerance(), properties.getSmoothing(), properties.getLongWindow());
+        Gauge.builder("gateway.concurrency.limit", limiter, GradientConcurrencyLimiter::getLimit)
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.in_flight", limiter, GradientConcurrencyLimiter::getInFlight)
+                .tag("route", routeId)
+                .register(meterRegistry);
+        return limiter;
+    }
+
+    private RequestPriority priorityOf(ServerHttpRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getPath().value());
+        String method = request.getMethod().name();
+        for (CompiledRule rule : rules) {
+            if ((rule.method == null || rule.method.equalsIgnoreCase(method)) && rule.pattern.matches(path)) {
+                return rule.priority;
+            }
+        }
+        return RequestPriority.NORMAL;
+    }
+
+    @Override
+    public int getOrder() {
+        return -70;
+    }
+
+    private static final class CompiledRule {
+        final String method;
+        final PathPattern pattern;
+        final RequestPriority priority;
+
+        CompiledRule(PriorityRule rule) {
+            this.method = rule.getMethod();
+            this.pattern = PathPatternParser.defaultInstance.parse(rule.getPath());
+            this.priority = rule.getPriority();
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.careermate.gateway.filter;
+
+import com.careermate.gateway.config.HedgingProperties;
+import com.careermate.gateway.config.HedgingProperties.RouteHedging;
+import com.careermate.gateway.hedging.LatencyHistogram;
+import com.careermate.gateway.hedging.RetryBudget;
+import com.careermate.gateway.loadbalancer.LatencyAwareLoadBalancer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Hedges slow GETs on opted-in routes. When the first attempt has not answered within the
+ * route's recent p95 (configurable), a second request goes to a different instance through
+ * the load-balanced WebClient. Whichever response arrives first is written and the other
+ * request is cancelled. A retry budget keeps hedges to a small share of the route's traffic.
+ * The delay comes from first attempts only, so hedge wins cannot pull the p95 down.
+ */
+@Component
+public class HedgingFilter implements GlobalFilter, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(HedgingFilter.class);
+
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+            "connection", "keep-alive", "proxy-connection", "transfer-encoding", "te", "trailer", "upgrade",
+            "host", "content-length");
+
+    private final HedgingProperties properties;
+    private final WebClient webClient;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RouteState> states = new ConcurrentHashMap<>();
+
+    public HedgingFilter(HedgingProperties properties, WebClient.Builder loadBalancedWebClientBuilder,
+                         MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.webClient = loadBalancedWebClientBuilder.build();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (!properties.isEnabled() || route == null || exchange.getRequest().getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+        RouteHedging config = properties.getRoutes().get(route.getId());
+        if (config == null) {
+            return chain.filter(exchange);
+        }
+        RouteState state = states.computeIfAbsent(route.getId(), id -> newState(id, config));
+        if (!state.matches(exchange.getRequest().getPath().value())) {
+            return chain.filter(exchange);
+        }
+
+        state.budget.onRequest();
+        long delayMs = state.hedgeDelayMs();
+        long start = System.nanoTime();
+        AtomicBoolean claimed = new AtomicBoolean();
+
+        // The first attempt's own latency, taken when its response arrives whether or not it won.
+        // Cancelled after a hedge won, it took at least as long as it ran, so that is recorded.
+        AtomicBoolean recorded = new AtomicBoolean();
+        Runnable recordPrimary = () -> {
+            if (recorded.compareAndSet(false, true)) {
+                state.record(start);
+            }
+        };
+        Mono<Void> primary = chain.filter(exchange.mutate()
+                        .response(new PrimaryResponse(exchange.getResponse(), claimed, recordPrimary))
+                        .build())
+                .doFinally(signal -> recordPrimary.run());
+        if (delayMs < 0) {
+            // Not enough samples yet to know what slow means for this route
+            return primary;
+        }
+        Mono<Void> hedge = Mono.delay(Duration.ofMillis(delayMs))
+                .flatMap(tick -> hedge(exchange, route, state, claimed));
+        // The loser never completes on its own, so the first to finish is the one that wrote
+        return Mono.firstWithSignal(primary, hedge);
+    }
+
+    private Mono<Void> hedge(ServerWebExchange exchange, Route route, RouteState state, AtomicBoolean claimed) {
+        if (claimed.get()) {
+            return Mono.never();
+        }
+        if (!state.budget.tryWithdraw()) {
+            count(route.getId(), "budget_exhausted");
+            return Mono.never();
+        }
+        count(route.getId(), "sent");
+
+        ServerHttpRequest request = exchange.getRequest();
+        Response<ServiceInstance> primaryInstance =
+                exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        return webClient.get()
+                .uri(UpstreamUris.of(route, request))
+                .headers(headers -> request.getHeaders().forEach((name, values) -> {
+                    if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                        headers.put(name, values);
+                    }
+                }))
+                .attributes(attributes -> {
+                    if (primaryInstance != null && primaryInstance.hasServer()) {
+                        attributes.put(LatencyAwareLoadBalancer.AVOID_INSTANCE_ATTRIBUTE,
+                                LatencyAwareLoadBalancer.instanceKey(primaryInstance.getServer()));
+                    }
+                })
+                .exchangeToMono(response -> response.toEntity(byte[].class))
+                .onErrorResume(e -> {
+                    // A failed hedge just leaves the first attempt to finish
+                    log.debug("Hedged request for {} failed: {}", route.getId(), e.toString());
+                    return Mono.never();
+                })
+                .flatMap(entity -> {
+                    if (entity.getStatusCode().is5xxServerError() || !claimed.compareAndSet(false, true)) {
+                        return Mono.<Void>never();
+                    }
+                    count(route.getId(), "won");
+                    return write(exchange.getResponse(), entity);
+                });
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, ResponseEntity<byte[]> entity) {
+        response.setStatusCode(entity.getStatusCode());
+        HttpHeaders headers = response.getHeaders();
+        entity.getHeaders().forEach((name, values) -> {
+            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.put(name, values);
+            }
+        });
+        byte[] body = entity.getBody() != null ? entity.getBody() : new byte[0];
+        headers.setContentLength(body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    private RouteState newState(String routeId, RouteHedging config) {
+        RouteState state = new RouteState(config, properties.getWindowMs());
+        Gauge.builder("gateway.hedging.delay_ms", state, RouteState::hedgeDelayMs)
+                .tag("route", routeId)
+                .register(meterRegistry);
+        return state;
+    }
+
+    private void count(String routeId, String result) {
+        meterRegistry.counter("gateway.hedging.requests", "route", routeId, "result", result).increment();
+    }
+
+    @Override
+    public int getOrder() {
+        // Inside the concurrency limit so a shed request is never hedged
+        return -60;
+    }
+
+    private static final class RouteState {
+        final RouteHedging config;
+        final List<PathPattern> patterns;
+        final LatencyHistogram histogram;
+        final RetryBudget budget;
+
+        RouteState(RouteHedging config, long windowMs) {
+            this.config = config;
+            this.patterns = config.getPaths().stream()
+                    .map(PathPatternParser.defaultInstance::parse)
+                    .collect(Collectors.toList());
+            this.histogram = new LatencyHistogram(windowMs);
+            this.budget = new RetryBudget(config.getBudgetPercent(), config.getMinPerSecond());
+        }
+
+        boolean matches(String path) {
+            PathContainer container = PathContainer.parsePath(path);
+            for (PathPattern pattern : patterns) {
+                if (pattern.matches(container)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        long hedgeDelayMs() {
+            long percentile = histogram.percentile(config.getPercentile(), config.getMinSamples());
+            return percentile < 0 ? -1 : Math.max(percentile, config.getMinDelayMs());
+        }
+
+        void record(long startNanos) {
+            histogram.record((System.nanoTime() - startNanos) / 1_000_000L);
+        }
+    }
+
+    /**
+     * The first attempt's response. Status and headers stay private until it wins the race;
+     * if the hedge already wrote, its writes never complete and the attempt is cancelled.
+     */
+    private static final class PrimaryResponse extends ServerHttpResponseDecorator {
+
+        private final AtomicBoolean claimed;
+        private final Runnable onResponse;
+        private final HttpHeaders headers = new HttpHeaders();
+        private HttpStatusCode status;
+
+        PrimaryResponse(ServerHttpResponse delegate, AtomicBoolean claimed, Runnable onResponse) {
+            super(delegate);
+            this.claimed = claimed;
+            this.onResponse = onResponse;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public boolean setStatusCode(HttpStatusCode status) {
+            this.status = status;
+            return true;
+        }
+
+        @Override
+        @Deprecated
+        public boolean setRawStatusCode(Integer value) {
+            this.status = value != null ? HttpStatusCode.valueOf(value) : null;
+            return true;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return status != null ? status : getDelegate().getStatusCode();
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return claim() ? super.writeWith(body) : Mono.never();
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return claim() ? super.writeAndFlushWith(body) : Mono.never();
+        }
+
+        @Override
+        public Mono<Void> setComplete() {
+            return claim() ? super.setComplete() : Mono.never();
+        }
+
+        private boolean claim() {
+            onResponse.run();
+            if (!claimed.compareAndSet(false, true)) {
+                return false;
+            }
+            if (status != null) {
+                getDelegate().setStatusCode(status);
+            }
+            getDelegate().getHeaders().putAll(headers);
+            return true;
+        }
+    }
+}
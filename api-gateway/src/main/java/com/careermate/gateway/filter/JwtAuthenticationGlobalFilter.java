@@ -1,60 +1,104 @@
 package com.careermate.gateway.filter;
 
+import com.careermate.gateway.jwt.GatewayJwtVerifier;
+import com.careermate.gateway.revocation.TokenRevocationService;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import org.springframework.beans.factory.annotation.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.util.Optional;
+
+/**
+ * The gateway's only JWT check. A bearer token is verified once per request; its claims
+ * are stored under {@link #CLAIMS_ATTRIBUTE} for later filters and forwarded to the
+ * services as X-User-* headers. Requests without a valid token pass through without
+ * identity headers and the services decide whether that is allowed.
+ */
 @Component
 public class JwtAuthenticationGlobalFilter implements GlobalFilter, Ordered {
 
-    @Value("${jwt.secret:your-secret-key-change-this-in-production-minimum-256-bits-required-for-hs256}")
-    private String jwtSecret;
+    public static final String CLAIMS_ATTRIBUTE = JwtAuthenticationGlobalFilter.class.getName() + ".claims";
+
+    static final String USER_EMAIL_HEADER = "X-User-Email";
+    static final String USER_ROLE_HEADER = "X-User-Role";
+    static final String USER_ID_HEADER = "X-User-Id";
+
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationGlobalFilter.class);
+
+    private final GatewayJwtVerifier verifier;
+    private final TokenRevocationService revocationService;
+
+    public JwtAuthenticationGlobalFilter(GatewayJwtVerifier verifier, TokenRevocationService revocationService) {
+        this.verifier = verifier;
+        this.revocationService = revocationService;
+    }
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-        String path = exchange.getRequest().getPath().value();
-        
-        // Only apply to /api/jobs/** paths
-        if (!path.startsWith("/api/jobs/")) {
-            return chain.filter(exchange);
+        // Identity headers are trusted downstream, so only this filter may set them
+        ServerHttpRequest stripped = exchange.getRequest().mutate()
+                .headers(headers -> {
+                    headers.remove(USER_EMAIL_HEADER);
+                    headers.remove(USER_ROLE_HEADER);
+                    headers.remove(USER_ID_HEADER);
+                })
+                .build();
+        ServerWebExchange clean = exchange.mutate().request(stripped).build();
+
+        String authHeader = stripped.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return chain.filter(clean);
         }
 
-        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
-        
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            String token = authHeader.substring(7);
-            try {
-                Claims claims = Jwts.parser()
-                        .setSigningKey(jwtSecret)
-                        .parseClaimsJws(token)
-                        .getBody();
-                
-                String email = claims.getSubject();
-                System.out.println("JWT Filter - Extracted email: " + email);
-                
-                // Add email to request header
-                ServerHttpRequest modifiedRequest = exchange.getRequest().mutate()
-                        .header("X-User-Email", email)
-                        .build();
-                
-                return chain.filter(exchange.mutate().request(modifiedRequest).build());
-            } catch (Exception e) {
-                System.err.println("JWT Filter - Failed to parse JWT: " + e.getMessage());
-                e.printStackTrace();
-            }
-        } else {
-            System.out.println("JWT Filter - No Authorization header for path: " + path);
+        String token = authHeader.substring(7);
+        return verifier.verify(token)
+                .map(Optional::of)
+                .onErrorResume(e -> {
+                    log.debug("Rejected JWT on {}: {}", stripped.getPath(), e.getMessage());
+                    return Mono.just(Optional.empty());
+                })
+                .flatMap(claims -> claims.isPresent()
+                        ? authorize(clean, chain, claims.get())
+                        : chain.filter(clean));
+    }
+
+    private Mono<Void> authorize(ServerWebExchange exchange, GatewayFilterChain chain, Claims claims) {
+        return revocationService.isRevoked(claims.getId(), claims.getExpiration())
+                .flatMap(revoked -> {
+                    if (revoked) {
+                        exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+                        return exchange.getResponse().setComplete();
+                    }
+
+                    ServerHttpRequest modifiedRequest = exchange.getRequest().mutate()
+                            .headers(headers -> setIdentityHeaders(headers, claims))
+                            .build();
+                    ServerWebExchange authenticated = exchange.mutate().request(modifiedRequest).build();
+                    authenticated.getAttributes().put(CLAIMS_ATTRIBUTE, claims);
+                    return chain.filter(authenticated);
+                });
+    }
+
+    private static void setIdentityHeaders(HttpHeaders headers, Claims claims) {
+        headers.set(USER_EMAIL_HEADER, claims.getSubject());
+        String role = claims.get("role", String.class);
+        if (role != null) {
+            headers.set(USER_ROLE_HEADER, role);
+        }
+        // uid is a JSON number, which may come back as Integer or Long
+        Object uid = claims.get("uid");
+        if (uid instanceof Number) {
+            headers.set(USER_ID_HEADER, String.valueOf(((Number) uid).longValue()));
         }
-        
-        return chain.filter(exchange);
     }
 
     @Override
@@ -0,0 +1,85 @@
+package com.careermate.gateway.filter;
+
+import com.careermate.gateway.config.RateLimitProperties;
+import com.careermate.gateway.ratelimit.TokenBucketRateLimiter;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Token-bucket limit per route and client. Authenticated requests are keyed by the
+ * verified JWT subject and limited by role; anonymous ones by the connecting address.
+ * Runs right after {@link JwtAuthenticationGlobalFilter} so the claims are available.
+ */
+@Component
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    private static final String ANONYMOUS_ROLE = "ANONYMOUS";
+
+    private final TokenBucketRateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(TokenBucketRateLimiter rateLimiter, RateLimitProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : "none";
+
+        Claims claims = exchange.getAttribute(JwtAuthenticationGlobalFilter.CLAIMS_ATTRIBUTE);
+        String role;
+        String client;
+        if (claims != null) {
+            String claimedRole = claims.get("role", String.class);
+            role = claimedRole != null ? claimedRole : ANONYMOUS_ROLE;
+            client = "user:" + claims.getSubject();
+        } else {
+            // X-Forwarded-For is client-controlled here, so only the socket address is trusted
+            InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+            role = ANONYMOUS_ROLE;
+            client = "ip:" + (remote != null && remote.getAddress() != null
+                    ? remote.getAddress().getHostAddress() : "unknown");
+        }
+
+        RateLimitProperties.Limit limit = properties.resolve(routeId, role);
+        return rateLimiter.tryConsume(routeId + ":" + client, limit)
+                .flatMap(decision -> {
+                    HttpHeaders headers = exchange.getResponse().getHeaders();
+                    headers.set("X-RateLimit-Limit", String.valueOf(limit.getCapacity()));
+                    headers.set("X-RateLimit-Remaining", String.valueOf(decision.getRemaining()));
+                    if (decision.isAllowed()) {
+                        return chain.filter(exchange);
+                    }
+                    meterRegistry.counter("gateway.rate_limit.rejected", "route", routeId).increment();
+                    headers.set(HttpHeaders.RETRY_AFTER,
+                            String.valueOf(Math.max(1, (decision.getRetryAfterMs() + 999) / 1000)));
+                    exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+                    return exchange.getResponse().setComplete();
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        return -90;
+    }
+}
@@ -0,0 +1,157 @@
+package com.careermate.gateway.filter;
+
+import com.careermate.gateway.cache.CacheableRequests;
+import com.careermate.gateway.cache.CachedResponse;
+import com.careermate.gateway.cache.ViewReporter;
+import com.careermate.gateway.config.ResponseCacheProperties;
+import com.careermate.gateway.config.ResponseCacheProperties.RouteCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Single-flight for cacheable GETs that miss the response cache. The first request for a key
+ * goes upstream; identical requests arriving while it is in flight wait for its response
+ * instead of being proxied again. Waiters fall back to their own upstream call when the
+ * leader's response is not a shareable 200, fails, is cancelled, or takes too long.
+ */
+@Component
+public class RequestCoalescingFilter implements GlobalFilter, Ordered {
+
+    private static final String COALESCED_HEADER = "X-Coalesced";
+
+    private final ResponseCacheProperties properties;
+    private final CacheableRequests cacheableRequests;
+    private final ViewReporter viewReporter;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public RequestCoalescingFilter(ResponseCacheProperties properties,
+                                   CacheableRequests cacheableRequests,
+                                   ViewReporter viewReporter,
+                                   MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.cacheableRequests = cacheableRequests;
+        this.viewReporter = viewReporter;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("gateway.coalescing.in_flight", inFlight, Map::size)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isCoalesce()) {
+            return chain.filter(exchange);
+        }
+        RouteCache config = cacheableRequests.routeConfig(exchange);
+        if (config == null) {
+            return chain.filter(exchange);
+        }
+        Route route = exchange.getRequiredAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String key = cacheableRequests.key(exchange, route.getId(), config);
+
+        Sinks.One<CachedResponse> sink = Sinks.one();
+        Sinks.One<CachedResponse> leader = inFlight.putIfAbsent(key, sink);
+        if (leader != null) {
+            return follow(exchange, chain, leader, route, config);
+        }
+
+        count(route.getId(), "leader");
+        return chain.filter(exchange.mutate().response(capture(exchange.getResponse(), sink)).build())
+                .doFinally(signal -> {
+                    // Errors, cancellation and unshareable responses release the waiters empty-handed
+                    inFlight.remove(key, sink);
+                    sink.tryEmitEmpty();
+                });
+    }
+
+    private Mono<Void> follow(ServerWebExchange exchange, GatewayFilterChain chain,
+                              Sinks.One<CachedResponse> leader, Route route, RouteCache config) {
+        String routeId = route.getId();
+        return leader.asMono()
+                .timeout(Duration.ofMillis(properties.getCoalesceTimeoutMs()))
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .onErrorResume(TimeoutException.class, e -> Mono.just(Optional.empty()))
+                .flatMap(shared -> {
+                    if (shared.isEmpty()) {
+                        count(routeId, "fallback");
+                        return chain.filter(exchange);
+                    }
+                    count(routeId, "collapsed");
+                    viewReporter.record(exchange, route, config);
+                    return write(exchange.getResponse(), shared.get());
+                });
+    }
+
+    private ServerHttpResponse capture(ServerHttpResponse original, Sinks.One<CachedResponse> sink) {
+        return new ServerHttpResponseDecorator(original) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                HttpStatusCode status = getStatusCode();
+                if (status == null || status.value() != HttpStatus.OK.value()
+                        || !CacheableRequests.isStorable(getHeaders())) {
+                    sink.tryEmitEmpty();
+                    return super.writeWith(body);
+                }
+                return DataBufferUtils.join(body)
+                        .defaultIfEmpty(bufferFactory().wrap(new byte[0]))
+                        .flatMap(joined -> {
+                            byte[] bytes = new byte[joined.readableByteCount()];
+                            joined.read(bytes);
+                            DataBufferUtils.release(joined);
+                            if (bytes.length <= properties.getMaxBodyBytes()) {
+                                long now = System.currentTimeMillis();
+                                sink.tryEmitValue(new CachedResponse(
+                                        CacheableRequests.storedHeaders(getHeaders()), bytes, now, now, now));
+                            } else {
+                                sink.tryEmitEmpty();
+                            }
+                            return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                        });
+            }
+        };
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, CachedResponse shared) {
+        response.setStatusCode(HttpStatus.OK);
+        HttpHeaders headers = response.getHeaders();
+        headers.putAll(shared.getHeaders());
+        headers.setContentLength(shared.getBody().length);
+        headers.set(COALESCED_HEADER, "true");
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.getBody())));
+    }
+
+    private void count(String routeId, String role) {
+        meterRegistry.counter("gateway.coalescing.requests", "route", routeId, "role", role).increment();
+    }
+
+    @Override
+    public int getOrder() {
+        // Just inside the response cache, so only cache misses are coalesced
+        return -79;
+    }
+}
@@ -0,0 +1,221 @@
+package com.careermate.gateway.filter;
+
+import com.careermate.gateway.cache.CacheableRequests;
+import com.careermate.gateway.cache.CachedResponse;
+import com.careermate.gateway.cache.ResponseCache;
+import com.careermate.gateway.cache.ViewReporter;
+import com.careermate.gateway.config.ResponseCacheProperties;
+import com.careermate.gateway.config.ResponseCacheProperties.RouteCache;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches 200 responses of the public GETs configured under gateway.response-cache.
+ * Fresh entries are served without calling upstream. Stale ones are served while a single
+ * background request refreshes them, and stand in for the upstream when it fails or its
+ * circuit breaker is open. Entries are shared by everyone unless the route varies by user.
+ */
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseCacheFilter.class);
+
+    private static final String CACHE_HEADER = "X-Cache";
+
+    private final ResponseCacheProperties properties;
+    private final CacheableRequests cacheableRequests;
+    private final ViewReporter viewReporter;
+    private final ResponseCache cache;
+    private final WebClient webClient;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final MeterRegistry meterRegistry;
+
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+
+    public ResponseCacheFilter(ResponseCacheProperties properties,
+                               CacheableRequests cacheableRequests,
+                               ViewReporter viewReporter,
+                               WebClient.Builder loadBalancedWebClientBuilder,
+                               ObjectProvider<CircuitBreakerRegistry> circuitBreakers,
+                               MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.cacheableRequests = cacheableRequests;
+        this.viewReporter = viewReporter;
+        this.cache = new ResponseCache(properties.getMaxEntries());
+        this.webClient = loadBalancedWebClientBuilder.build();
+        this.circuitBreakers = circuitBreakers.getIfAvailable();
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("gateway.response_cache.size", cache, ResponseCache::size)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        RouteCache config = cacheableRequests.routeConfig(exchange);
+        if (config == null) {
+            return chain.filter(exchange);
+        }
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getRequiredAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String key = cacheableRequests.key(exchange, route.getId(), config);
+        long now = System.currentTimeMillis();
+        CachedResponse cached = cache.get(key, now);
+        if (cached != null) {
+            if (cached.isFresh(now)) {
+                return serveFromCache(exchange, route, config, cached, "HIT");
+            }
+            // Revalidation runs without the caller's identity, so per-user entries are refetched inline
+            if (cached.isRevalidatable(now) && !config.isVaryByUser()) {
+                revalidate(key, route, config, request);
+                return serveFromCache(exchange, route, config, cached, "STALE");
+            }
+            if (isCircuitOpen(config)) {
+                return serveFromCache(exchange, route, config, cached, "STALE-IF-ERROR");
+            }
+        }
+
+        count(route.getId(), "MISS");
+        ServerHttpResponse response = capture(exchange.getResponse(), key, config, cached, route.getId(),
+                () -> viewReporter.record(exchange, route, config));
+        return chain.filter(exchange.mutate().response(response).build())
+                .onErrorResume(e -> {
+                    if (cached != null && !exchange.getResponse().isCommitted()) {
+                        return serveFromCache(exchange, route, config, cached, "STALE-IF-ERROR");
+                    }
+                    return Mono.error(e);
+                });
+    }
+
+    private ServerHttpResponse capture(ServerHttpResponse original, String key, RouteCache config,
+                                       CachedResponse fallback, String routeId, Runnable onServedStale) {
+        return new ServerHttpResponseDecorator(original) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                HttpStatusCode status = getStatusCode();
+                if (status != null && status.is5xxServerError() && fallback != null) {
+                    // Swap the error for the last good copy
+                    return Flux.from(body).doOnNext(DataBufferUtils::release)
+                            .then(Mono.defer(() -> {
+                                count(routeId, "STALE-IF-ERROR");
+                                onServedStale.run();
+                                prepare(this, fallback, "STALE-IF-ERROR");
+                                return super.writeWith(Mono.just(bufferFactory().wrap(fallback.getBody())));
+                            }));
+                }
+                if (status == null || status.value() != HttpStatus.OK.value() || !CacheableRequests.isStorable(getHeaders())) {
+                    return super.writeWith(body);
+                }
+                return DataBufferUtils.join(body)
+                        .defaultIfEmpty(bufferFactory().wrap(new byte[0]))
+                        .flatMap(joined -> {
+                            byte[] bytes = new byte[joined.readableByteCount()];
+                            joined.read(bytes);
+                            DataBufferUtils.release(joined);
+                            store(key, config, getHeaders(), bytes);
+                            getHeaders().set(CACHE_HEADER, "MISS");
+                            return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                        });
+            }
+        };
+    }
+
+    private void revalidate(String key, Route route, RouteCache config, ServerHttpRequest request) {
+        if (!revalidating.add(key)) {
+            return;
+        }
+        webClient.get()
+                .uri(UpstreamUris.of(route, request))
+                .exchangeToMono(response -> response.statusCode().value() == HttpStatus.OK.value()
+                        ? response.toEntity(byte[].class)
+                        : response.releaseBody().then(Mono.<ResponseEntity<byte[]>>empty()))
+                .timeout(Duration.ofSeconds(10))
+                .doFinally(signal -> revalidating.remove(key))
+                .subscribe(entity -> {
+                    if (CacheableRequests.isStorable(entity.getHeaders())) {
+                        store(key, config, entity.getHeaders(), entity.getBody() != null ? entity.getBody() : new byte[0]);
+                    }
+                }, e -> log.debug("Revalidating {} failed: {}", key, e.toString()));
+    }
+
+    private void store(String key, RouteCache config, HttpHeaders headers, byte[] body) {
+        if (body.length > properties.getMaxBodyBytes()) {
+            return;
+        }
+        HttpHeaders stored = CacheableRequests.storedHeaders(headers);
+        long now = System.currentTimeMillis();
+        long freshUntil = now + config.getTtlMs();
+        cache.put(key, new CachedResponse(stored, body, freshUntil,
+                freshUntil + config.getStaleWhileRevalidateMs(),
+                freshUntil + Math.max(config.getStaleIfErrorMs(), config.getStaleWhileRevalidateMs())));
+    }
+
+    // Served without reaching the backend, so views it would have counted are reported from here
+    private Mono<Void> serveFromCache(ServerWebExchange exchange, Route route, RouteCache config,
+                                      CachedResponse cached, String result) {
+        viewReporter.record(exchange, route, config);
+        return serve(exchange.getResponse(), cached, result, route.getId());
+    }
+
+    private Mono<Void> serve(ServerHttpResponse response, CachedResponse cached, String result, String routeId) {
+        count(routeId, result);
+        prepare(response, cached, result);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.getBody())));
+    }
+
+    private static void prepare(ServerHttpResponse response, CachedResponse cached, String result) {
+        response.setStatusCode(HttpStatus.OK);
+        HttpHeaders headers = response.getHeaders();
+        headers.putAll(cached.getHeaders());
+        headers.setContentLength(cached.getBody().length);
+        headers.set(CACHE_HEADER, result);
+    }
+
+    private boolean isCircuitOpen(RouteCache config) {
+        if (circuitBreakers == null || config.getCircuitBreaker() == null) {
+            return false;
+        }
+        return circuitBreakers.find(config.getCircuitBreaker())
+                .map(breaker -> breaker.getState() == CircuitBreaker.State.OPEN
+                        || breaker.getState() == CircuitBreaker.State.FORCED_OPEN)
+                .orElse(false);
+    }
+
+    private void count(String routeId, String result) {
+        meterRegistry.counter("gateway.response_cache.requests", "route", routeId, "result", result).increment();
+    }
+
+    @Override
+    public int getOrder() {
+        // After authentication and rate limiting, so cache hits still count against the limit
+        return -80;
+    }
+}
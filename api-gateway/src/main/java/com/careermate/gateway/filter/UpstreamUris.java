@@ -0,0 +1,28 @@
+package com.careermate.gateway.filter;
+
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+
+// URIs for calling a route's backend directly through the load-balanced WebClient
+final class UpstreamUris {
+
+    private UpstreamUris() {
+    }
+
+    static URI of(Route route, ServerHttpRequest request) {
+        URI routeUri = route.getUri();
+        // lb:// routes resolve through the load-balanced WebClient as http://<service-id>
+        String scheme = "lb".equals(routeUri.getScheme()) ? "http" : routeUri.getScheme();
+        return UriComponentsBuilder.newInstance()
+                .scheme(scheme)
+                .host(routeUri.getHost())
+                .port(routeUri.getPort())
+                .path(request.getPath().value())
+                .query(request.getURI().getRawQuery())
+                .build(true)
+                .toUri();
+    }
+}
@@ -0,0 +1,91 @@
+package com.careermate.gateway.hedging;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Log-scale latency histogram over a sliding window. Buckets grow by 20% from 1ms to about
+ * a minute; two generations are kept and the older one is dropped every {@code windowMs},
+ * so percentiles cover between one and two windows of recent traffic.
+ */
+public class LatencyHistogram {
+
+    private static final double FIRST_BOUND_MS = 1.0;
+    private static final double GROWTH = 1.2;
+    private static final int BUCKETS = 62;
+
+    private static final double[] BOUNDS_MS = new double[BUCKETS];
+
+    static {
+        double bound = FIRST_BOUND_MS;
+        for (int i = 0; i < BUCKETS; i++) {
+            BOUNDS_MS[i] = bound;
+            bound *= GROWTH;
+        }
+    }
+
+    private final long windowMs;
+
+    private volatile AtomicLongArray current = new AtomicLongArray(BUCKETS);
+    private volatile AtomicLongArray previous = new AtomicLongArray(BUCKETS);
+    private volatile long windowStartMs = System.currentTimeMillis();
+
+    public LatencyHistogram(long windowMs) {
+        this.windowMs = windowMs;
+    }
+
+    public void record(long latencyMs) {
+        rotateIfNeeded(System.currentTimeMillis());
+        current.incrementAndGet(bucketOf(latencyMs));
+    }
+
+    /**
+     * Upper bound of the bucket holding the given quantile, or -1 with fewer than
+     * {@code minSamples} samples in the window.
+     */
+    public long percentile(double quantile, long minSamples) {
+        rotateIfNeeded(System.currentTimeMillis());
+        AtomicLongArray now = current;
+        AtomicLongArray before = previous;
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = now.get(i) + before.get(i);
+            total += counts[i];
+        }
+        if (total < minSamples) {
+            return -1;
+        }
+        long rank = (long) Math.ceil(total * quantile);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return (long) Math.ceil(BOUNDS_MS[i]);
+            }
+        }
+        return (long) Math.ceil(BOUNDS_MS[BUCKETS - 1]);
+    }
+
+    private void rotateIfNeeded(long nowMs) {
+        if (nowMs - windowStartMs < windowMs) {
+            return;
+        }
+        synchronized (this) {
+            if (nowMs - windowStartMs < windowMs) {
+                return;
+            }
+            // Two windows idle means both generations are stale
+            previous = nowMs - windowStartMs < 2 * windowMs ? current : new AtomicLongArray(BUCKETS);
+            current = new AtomicLongArray(BUCKETS);
+            windowStartMs = nowMs;
+        }
+    }
+
+    private static int bucketOf(long latencyMs) {
+        if (latencyMs <= FIRST_BOUND_MS) {
+            return 0;
+        }
+        int bucket = (int) Math.ceil(Math.log(latencyMs / FIRST_BOUND_MS) / Math.log(GROWTH));
+        return Math.min(bucket, BUCKETS - 1);
+    }
+}
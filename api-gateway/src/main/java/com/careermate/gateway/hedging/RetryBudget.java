@@ -0,0 +1,44 @@
+package com.careermate.gateway.hedging;
+
+/**
+ * Caps extra requests (hedges) at a share of the normal ones. Every request deposits
+ * {@code percent / 100} of a token and every hedge withdraws a whole one; a small per-second
+ * allowance keeps hedging possible at low traffic. The balance is capped so a quiet period
+ * cannot bank a burst.
+ */
+public class RetryBudget {
+
+    private final double depositPerRequest;
+    private final double minPerSecond;
+    private final double maxBalance;
+
+    private double balance;
+    private long lastRefillNanos = System.nanoTime();
+
+    public RetryBudget(double percent, double minPerSecond) {
+        this.depositPerRequest = percent / 100.0;
+        this.minPerSecond = minPerSecond;
+        this.maxBalance = Math.max(1.0, minPerSecond * 10);
+        this.balance = maxBalance;
+    }
+
+    public synchronized void onRequest() {
+        refill();
+        balance = Math.min(maxBalance, balance + depositPerRequest);
+    }
+
+    public synchronized boolean tryWithdraw() {
+        refill();
+        if (balance < 1.0) {
+            return false;
+        }
+        balance -= 1.0;
+        return true;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        balance = Math.min(maxBalance, balance + minPerSecond * (now - lastRefillNanos) / 1e9);
+        lastRefillNanos = now;
+    }
+}
@@ -0,0 +1,157 @@
+package com.careermate.gateway.jwt;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.impl.TextCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Verifies ES256 access tokens locally against keys from {@link JwksKeyCache}. Only an
+ * unknown kid causes a network call, to refresh the key set.
+ *
+ * Parsers are built once per key, and tokens that verified recently are remembered by
+ * digest until they expire, so a client sending the same token on every request pays
+ * for the signature check once. Revocation is not cached here; callers check it per request.
+ */
+@Component
+public class GatewayJwtVerifier {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int MAX_CACHED_PARSERS = 16;
+
+    // Built once; JwtParser.setSigningKey(String) would base64-decode the secret on every call
+    private final JwtParser legacyParser;
+    private final JwksKeyCache keyCache;
+    private final Map<PublicKey, JwtParser> parsers = new ConcurrentHashMap<>();
+
+    private final int maxCachedTokens;
+    private final Map<String, Claims> verified = new ConcurrentHashMap<>();
+    private volatile long nextSweepMillis;
+
+    public GatewayJwtVerifier(JwksKeyCache keyCache,
+                              @Value("${jwt.secret:}") String legacySecret,
+                              @Value("${jwt.legacy-hmac-enabled:false}") boolean legacyHmacEnabled,
+                              @Value("${jwt.verified-cache-size:50000}") int maxCachedTokens) {
+        this.keyCache = keyCache;
+        this.legacyParser = legacyHmacEnabled && !legacySecret.isEmpty()
+                ? Jwts.parser().setSigningKey(TextCodec.BASE64.decode(legacySecret))
+                : null;
+        this.maxCachedTokens = maxCachedTokens;
+    }
+
+    /**
+     * Emits the claims of a valid token, or errors with a {@link io.jsonwebtoken.JwtException}
+     * or {@link IllegalArgumentException} if it is malformed, forged, expired or signed by an
+     * unknown key.
+     */
+    public Mono<Claims> verify(String token) {
+        long now = System.currentTimeMillis();
+        String digest = digest(token);
+        Claims cached = verified.get(digest);
+        if (cached != null) {
+            if (!isExpired(cached, now)) {
+                return Mono.just(cached);
+            }
+            verified.remove(digest);
+        }
+
+        String kid;
+        try {
+            kid = readKid(token);
+        } catch (RuntimeException e) {
+            return Mono.error(e);
+        }
+
+        Mono<Claims> claims;
+        if (kid == null) {
+            // Tokens from before the switch to ES256 have no kid
+            if (legacyParser == null) {
+                return Mono.error(new UnsupportedJwtException("JWT has no kid"));
+            }
+            claims = Mono.fromCallable(() -> legacyParser.parseClaimsJws(token).getBody());
+        } else {
+            claims = keyCache.key(kid)
+                    .switchIfEmpty(Mono.error(new UnsupportedJwtException("Unknown JWT signing key " + kid)))
+                    .map(key -> parserFor(key).parseClaimsJws(token).getBody());
+        }
+        return claims.doOnNext(body -> remember(digest, body, now));
+    }
+
+    private JwtParser parserFor(PublicKey key) {
+        JwtParser parser = parsers.get(key);
+        if (parser == null) {
+            if (parsers.size() >= MAX_CACHED_PARSERS) {
+                // Only rotated-out keys pile up here
+                parsers.clear();
+            }
+            parser = parsers.computeIfAbsent(key, k -> Jwts.parser().setSigningKey(k));
+        }
+        return parser;
+    }
+
+    private void remember(String digest, Claims claims, long now) {
+        if (claims.getExpiration() == null) {
+            return;
+        }
+        if (verified.size() >= maxCachedTokens || now >= nextSweepMillis) {
+            sweep(now);
+        }
+        if (verified.size() < maxCachedTokens) {
+            verified.put(digest, claims);
+        }
+    }
+
+    private synchronized void sweep(long now) {
+        if (verified.size() < maxCachedTokens && now < nextSweepMillis) {
+            return;
+        }
+        verified.values().removeIf(claims -> isExpired(claims, now));
+        nextSweepMillis = now + 60_000;
+    }
+
+    private static boolean isExpired(Claims claims, long now) {
+        Date expiration = claims.getExpiration();
+        return expiration == null || expiration.getTime() <= now;
+    }
+
+    private static String readKid(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            throw new MalformedJwtException("JWT has no header");
+        }
+        try {
+            JsonNode header = MAPPER.readTree(Base64.getUrlDecoder().decode(token.substring(0, dot)));
+            JsonNode kid = header.get("kid");
+            return kid != null && kid.isTextual() ? kid.asText() : null;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new MalformedJwtException("JWT header is not valid JSON", e);
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.careermate.gateway.jwt;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Public keys from auth-service's JWKS endpoint, cached in memory so token verification
+ * stays local. The set is refreshed periodically and whenever a token names a kid we do
+ * not know yet, which is how a key rotation reaches the gateway without a redeploy.
+ */
+@Component
+public class JwksKeyCache {
+
+    private static final Logger log = LoggerFactory.getLogger(JwksKeyCache.class);
+
+    private final WebClient webClient;
+    private final String jwksUri;
+    private final long minRefreshIntervalMs;
+    private final Duration refreshInterval;
+
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private volatile long lastRefreshMillis;
+    // Concurrent misses share one in-flight fetch
+    private final AtomicReference<Mono<Void>> inFlight = new AtomicReference<>();
+
+    public JwksKeyCache(WebClient.Builder loadBalancedWebClientBuilder,
+                        @Value("${jwt.jwks-uri:http://auth-service/api/auth/.well-known/jwks.json}") String jwksUri,
+                        @Value("${jwt.jwks-min-refresh-interval-ms:10000}") long minRefreshIntervalMs,
+                        @Value("${jwt.jwks-refresh-interval-ms:300000}") long refreshIntervalMs) {
+        this.webClient = loadBalancedWebClientBuilder.build();
+        this.jwksUri = jwksUri;
+        this.minRefreshIntervalMs = minRefreshIntervalMs;
+        this.refreshInterval = Duration.ofMillis(refreshIntervalMs);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Flux.interval(Duration.ZERO, refreshInterval)
+                .concatMap(tick -> refresh().onErrorResume(e -> Mono.empty()))
+                .subscribe();
+    }
+
+    /**
+     * Key for the kid, fetching the key set again if it is unknown. Empty when the kid is
+     * still unknown after that, or a refresh happened too recently to try again.
+     */
+    public Mono<PublicKey> key(String kid) {
+        PublicKey key = keys.get(kid);
+        if (key != null) {
+            return Mono.just(key);
+        }
+        if (System.currentTimeMillis() - lastRefreshMillis < minRefreshIntervalMs) {
+            return Mono.empty();
+        }
+        return refresh()
+                .onErrorResume(e -> Mono.empty())
+                .then(Mono.fromSupplier(() -> keys.get(kid)));
+    }
+
+    private Mono<Void> refresh() {
+        // Building the Mono is cheap and lazy, so losing the race here costs nothing
+        return inFlight.updateAndGet(current -> current != null ? current : fetch());
+    }
+
+    private Mono<Void> fetch() {
+        return webClient.get()
+                .uri(jwksUri)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(Duration.ofSeconds(5))
+                .doOnNext(this::load)
+                .doOnError(e -> log.warn("Could not fetch JWKS from {}: {}", jwksUri, e.getMessage()))
+                .doFinally(signal -> {
+                    lastRefreshMillis = System.currentTimeMillis();
+                    inFlight.set(null);
+                })
+                .then()
+                .cache();
+    }
+
+    private void load(JsonNode jwks) {
+        Map<String, PublicKey> loaded = new HashMap<>();
+        for (JsonNode jwk : jwks.path("keys")) {
+            String kid = jwk.path("kid").asText(null);
+            if (kid == null || !"EC".equals(jwk.path("kty").asText()) || !"P-256".equals(jwk.path("crv").asText())) {
+                continue;
+            }
+            try {
+                loaded.put(kid, toPublicKey(jwk.path("x").asText(), jwk.path("y").asText()));
+            } catch (GeneralSecurityException | IllegalArgumentException e) {
+                log.warn("Skipping unreadable JWK {}: {}", kid, e.getMessage());
+            }
+        }
+        keys = loaded;
+    }
+
+    private static PublicKey toPublicKey(String x, String y) throws GeneralSecurityException {
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+        ECPoint point = new ECPoint(new BigInteger(1, decoder.decode(x)), new BigInteger(1, decoder.decode(y)));
+        AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+        parameters.init(new ECGenParameterSpec("secp256r1"));
+        ECParameterSpec spec = parameters.getParameterSpec(ECParameterSpec.class);
+        return KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(point, spec));
+    }
+}
@@ -0,0 +1,38 @@
+package com.careermate.gateway.loadbalancer;
+
+/**
+ * One load-balanced WebClient call's place in its instance's in-flight count. The caller puts
+ * the slot in the request attributes, {@link LatencyTrackingLifecycle} fills it once an
+ * instance is chosen, and the caller releases it however the call ends. The load balancer's
+ * own completion callback is not invoked on cancellation, so it cannot be relied on for this.
+ */
+public class InFlightSlot {
+
+    public static final String ATTRIBUTE = "gateway.loadbalancer.inFlightSlot";
+
+    private InstanceStats stats;
+    private boolean released;
+
+    public synchronized void acquire(InstanceStats chosen) {
+        if (released) {
+            return;
+        }
+        // A retry picks a new instance; the previous attempt is over
+        if (stats != null) {
+            stats.onRelease();
+        }
+        stats = chosen;
+        stats.onStart();
+    }
+
+    public synchronized void release() {
+        if (released) {
+            return;
+        }
+        released = true;
+        if (stats != null) {
+            stats.onRelease();
+            stats = null;
+        }
+    }
+}
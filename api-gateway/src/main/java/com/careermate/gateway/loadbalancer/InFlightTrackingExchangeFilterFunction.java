@@ -0,0 +1,26 @@
+package com.careermate.gateway.loadbalancer;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Outermost filter of the load-balanced WebClient. Gives each call an {@link InFlightSlot}
+ * and releases it on completion, error or cancellation, so hedge attempts that lose the race
+ * do not stay counted against their instance.
+ */
+public class InFlightTrackingExchangeFilterFunction implements ExchangeFilterFunction {
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            InFlightSlot slot = new InFlightSlot();
+            ClientRequest tracked = ClientRequest.from(request)
+                    .attribute(InFlightSlot.ATTRIBUTE, slot)
+                    .build();
+            return next.exchange(tracked).doFinally(signal -> slot.release());
+        });
+    }
+}
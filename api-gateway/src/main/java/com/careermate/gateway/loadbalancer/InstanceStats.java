@@ -0,0 +1,109 @@
+package com.careermate.gateway.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load seen by the gateway on one backend instance: a peak-sensitive latency EWMA, the number
+ * of requests in flight and the outlier-ejection state. Latency jumps up to a slower sample
+ * at once and decays back with time, so a pausing replica loses traffic immediately.
+ */
+public class InstanceStats {
+
+    private final long decayNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private double ewmaNanos;
+    private long lastSampleNanos;
+    private boolean sampled;
+    private int consecutiveFailures;
+    private int ejections;
+    private long ejectedUntilMs;
+    private long lastEjectionEndMs;
+
+    public InstanceStats(long decayMs) {
+        this.decayNanos = decayMs * 1_000_000L;
+    }
+
+    public void onStart() {
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * Ends a request counted by {@link #onStart}, whether it completed, failed or was
+     * cancelled. Exactly one call per start.
+     */
+    public void onRelease() {
+        inFlight.decrementAndGet();
+    }
+
+    // Records a finished request's latency; the in-flight count is released separately
+    public synchronized void onComplete(long latencyNanos, boolean failed, long nowNanos) {
+        if (!sampled || latencyNanos > ewmaNanos) {
+            ewmaNanos = latencyNanos;
+            sampled = true;
+        } else {
+            double weight = Math.exp(-(nowNanos - lastSampleNanos) / (double) decayNanos);
+            ewmaNanos = ewmaNanos * weight + latencyNanos * (1 - weight);
+        }
+        lastSampleNanos = nowNanos;
+        consecutiveFailures = failed ? consecutiveFailures + 1 : 0;
+    }
+
+    /**
+     * Expected wait for one more request: latency times the queue it would join. An instance
+     * without samples is assumed to be as fast as {@code unsampledNanos}, typically its peers'
+     * median, so a new or readmitted instance is probed but still stops winning once requests
+     * pile up on it. An instance that has not been picked for a while looks cheaper over time
+     * so a past peak cannot starve it.
+     */
+    public synchronized double cost(long nowNanos, double unsampledNanos) {
+        if (!sampled) {
+            return unsampledNanos * (inFlight.get() + 1);
+        }
+        double idle = Math.max(0, nowNanos - lastSampleNanos);
+        return ewmaNanos * Math.exp(-idle / decayNanos) * (inFlight.get() + 1);
+    }
+
+    public synchronized boolean hasSamples() {
+        return sampled;
+    }
+
+    public synchronized double getEwmaNanos() {
+        return ewmaNanos;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    public synchronized boolean isEjected(long nowMs) {
+        if (ejectedUntilMs == 0) {
+            return false;
+        }
+        if (nowMs < ejectedUntilMs) {
+            return true;
+        }
+        // Back in rotation with a clean slate; its old latency says nothing about it now
+        ejectedUntilMs = 0;
+        sampled = false;
+        ewmaNanos = 0;
+        consecutiveFailures = 0;
+        return false;
+    }
+
+    public synchronized void eject(long nowMs, long baseMs, long maxMs) {
+        // Ejections double while an instance keeps relapsing, and start over once it stayed healthy
+        if (nowMs - lastEjectionEndMs > maxMs) {
+            ejections = 0;
+        }
+        long duration = Math.min(maxMs, baseMs << Math.min(ejections, 20));
+        ejections++;
+        ejectedUntilMs = nowMs + duration;
+        lastEjectionEndMs = ejectedUntilMs;
+    }
+}
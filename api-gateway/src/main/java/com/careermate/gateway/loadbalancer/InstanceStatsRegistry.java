@@ -0,0 +1,43 @@
+package com.careermate.gateway.loadbalancer;
+
+import com.careermate.gateway.config.LatencyLoadBalancerProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stats per backend instance, shared by every service's load balancer and by the lifecycle
+ * hook that records each request's outcome.
+ */
+@Component
+public class InstanceStatsRegistry {
+
+    private final LatencyLoadBalancerProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, InstanceStats> stats = new ConcurrentHashMap<>();
+
+    public InstanceStatsRegistry(LatencyLoadBalancerProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public InstanceStats get(ServiceInstance instance) {
+        return stats.computeIfAbsent(keyOf(instance), key -> new InstanceStats(properties.getDecayMs()));
+    }
+
+    public void recordEjection(ServiceInstance instance, String reason) {
+        meterRegistry.counter("gateway.load_balancer.ejections",
+                "service", String.valueOf(instance.getServiceId()), "reason", reason).increment();
+    }
+
+    public LatencyLoadBalancerProperties getProperties() {
+        return properties;
+    }
+
+    private static String keyOf(ServiceInstance instance) {
+        return instance.getServiceId() + "|" + instance.getHost() + ":" + instance.getPort();
+    }
+}
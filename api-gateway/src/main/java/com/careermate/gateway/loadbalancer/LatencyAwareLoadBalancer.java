@@ -0,0 +1,189 @@
+package com.careermate.gateway.loadbalancer;
+
+import com.careermate.gateway.config.LatencyLoadBalancerProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Power-of-two-choices over latency: picks two random healthy instances and sends the request
+ * to the one with the lower EWMA latency times in-flight count. Instances that keep failing,
+ * or whose latency is far above the service median, are ejected for a while.
+ */
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    // Request attribute naming an instance (see instanceKey) to skip when there is another, used by hedging
+    public static final String AVOID_INSTANCE_ATTRIBUTE = "gateway.loadbalancer.avoidInstance";
+
+    private final ObjectProvider<ServiceInstanceListSupplier> suppliers;
+    private final String serviceId;
+    private final InstanceStatsRegistry registry;
+
+    public LatencyAwareLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> suppliers, String serviceId,
+                                    InstanceStatsRegistry registry) {
+        this.suppliers = suppliers;
+        this.serviceId = serviceId;
+        this.registry = registry;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = suppliers.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        String avoid = avoidedInstance(request);
+        return supplier.get(request).next().map(instances -> choose(without(instances, avoid)));
+    }
+
+    public static String instanceKey(ServiceInstance instance) {
+        return instance.getHost() + ":" + instance.getPort();
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static String avoidedInstance(Request request) {
+        if (request == null || !(request.getContext() instanceof RequestDataContext context)
+                || context.getClientRequest() == null || context.getClientRequest().getAttributes() == null) {
+            return null;
+        }
+        Object avoid = context.getClientRequest().getAttributes().get(AVOID_INSTANCE_ATTRIBUTE);
+        return avoid instanceof String ? (String) avoid : null;
+    }
+
+    private static List<ServiceInstance> without(List<ServiceInstance> instances, String avoid) {
+        if (avoid == null || instances.size() < 2) {
+            return instances;
+        }
+        List<ServiceInstance> remaining = new ArrayList<>(instances.size());
+        for (ServiceInstance instance : instances) {
+            if (!avoid.equals(instanceKey(instance))) {
+                remaining.add(instance);
+            }
+        }
+        return remaining.isEmpty() ? instances : remaining;
+    }
+
+    Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            return new EmptyResponse();
+        }
+        if (instances.size() == 1) {
+            return new DefaultResponse(instances.get(0));
+        }
+        long now = System.currentTimeMillis();
+        List<ServiceInstance> healthy = healthyInstances(instances, now);
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(healthy.size());
+        if (healthy.size() == 1) {
+            return new DefaultResponse(healthy.get(first));
+        }
+        int second = random.nextInt(healthy.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = healthy.get(first);
+        ServiceInstance b = healthy.get(second);
+        InstanceStats statsA = registry.get(a);
+        InstanceStats statsB = registry.get(b);
+        double unsampledNanos = statsA.hasSamples() && statsB.hasSamples() ? 0 : medianLatencyNanos(healthy);
+        long nowNanos = System.nanoTime();
+        return new DefaultResponse(statsA.cost(nowNanos, unsampledNanos) <= statsB.cost(nowNanos, unsampledNanos) ? a : b);
+    }
+
+    // Median EWMA of the sampled instances, or the configured guess when none has samples yet
+    private double medianLatencyNanos(List<ServiceInstance> instances) {
+        double[] latencies = new double[instances.size()];
+        int sampled = 0;
+        for (ServiceInstance instance : instances) {
+            InstanceStats stats = registry.get(instance);
+            if (stats.hasSamples()) {
+                latencies[sampled++] = stats.getEwmaNanos();
+            }
+        }
+        if (sampled == 0) {
+            return registry.getProperties().getInitialLatencyMs() * 1_000_000.0;
+        }
+        Arrays.sort(latencies, 0, sampled);
+        return latencies[sampled / 2];
+    }
+
+    private List<ServiceInstance> healthyInstances(List<ServiceInstance> instances, long now) {
+        LatencyLoadBalancerProperties properties = registry.getProperties();
+        int maxEjected = instances.size() * properties.getMaxEjectionPercent() / 100;
+
+        List<ServiceInstance> healthy = new ArrayList<>(instances.size());
+        List<ServiceInstance> suspects = new ArrayList<>();
+        int ejected = 0;
+        for (ServiceInstance instance : instances) {
+            InstanceStats stats = registry.get(instance);
+            if (stats.isEjected(now)) {
+                ejected++;
+            } else if (stats.getConsecutiveFailures() >= properties.getFailureThreshold()) {
+                suspects.add(instance);
+            } else {
+                healthy.add(instance);
+            }
+        }
+        for (ServiceInstance instance : suspects) {
+            if (ejected < maxEjected) {
+                registry.get(instance).eject(now, properties.getEjectionMs(), properties.getMaxEjectionMs());
+                registry.recordEjection(instance, "failures");
+                ejected++;
+            } else {
+                healthy.add(instance);
+            }
+        }
+        ejected = ejectLatencyOutliers(healthy, ejected, maxEjected, now);
+
+        // Everything ejected would leave nothing to route to, so fall back to all instances
+        return healthy.isEmpty() ? instances : healthy;
+    }
+
+    private int ejectLatencyOutliers(List<ServiceInstance> healthy, int ejected, int maxEjected, long now) {
+        if (ejected >= maxEjected || healthy.size() < 3) {
+            return ejected;
+        }
+        double[] latencies = new double[healthy.size()];
+        int sampled = 0;
+        for (ServiceInstance instance : healthy) {
+            InstanceStats stats = registry.get(instance);
+            if (stats.hasSamples()) {
+                latencies[sampled++] = stats.getEwmaNanos();
+            }
+        }
+        // A median needs a majority of instances with samples to mean anything
+        if (sampled < 3) {
+            return ejected;
+        }
+        Arrays.sort(latencies, 0, sampled);
+        double threshold = latencies[sampled / 2] * registry.getProperties().getLatencyOutlierFactor();
+
+        LatencyLoadBalancerProperties properties = registry.getProperties();
+        for (int i = healthy.size() - 1; i >= 0 && ejected < maxEjected; i--) {
+            InstanceStats stats = registry.get(healthy.get(i));
+            if (stats.hasSamples() && stats.getEwmaNanos() > threshold) {
+                stats.eject(now, properties.getEjectionMs(), properties.getMaxEjectionMs());
+                registry.recordEjection(healthy.get(i), "latency");
+                healthy.remove(i);
+                ejected++;
+            }
+        }
+        return ejected;
+    }
+
+    public String getServiceId() {
+        return serviceId;
+    }
+}
@@ -0,0 +1,60 @@
+package com.careermate.gateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+
+/**
+ * Feeds each load-balanced request's latency and outcome into {@link InstanceStatsRegistry}.
+ * Called by both the gateway's lb:// routing and the load-balanced WebClient. The in-flight
+ * count is not kept here, because {@link #onComplete} is never called for a cancelled request:
+ * lb:// routes are counted by InFlightTrackingFilter, WebClient calls through their
+ * {@link InFlightSlot}.
+ */
+public class LatencyTrackingLifecycle implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    private final InstanceStatsRegistry registry;
+
+    public LatencyTrackingLifecycle(InstanceStatsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (!lbResponse.hasServer()) {
+            return;
+        }
+        if (request.getContext() instanceof TimedRequestContext timed) {
+            timed.setRequestStartTime(System.nanoTime());
+        }
+        if (request.getContext() instanceof RequestDataContext context
+                && context.getClientRequest().getAttributes().get(InFlightSlot.ATTRIBUTE) instanceof InFlightSlot slot) {
+            slot.acquire(registry.get(lbResponse.getServer()));
+        }
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (lbResponse == null || !lbResponse.hasServer()
+                || !(completionContext.getLoadBalancerRequest().getContext() instanceof TimedRequestContext timed)) {
+            return;
+        }
+        long now = System.nanoTime();
+        boolean failed = completionContext.status() == CompletionContext.Status.FAILED;
+        if (completionContext.getClientResponse() instanceof ResponseData response
+                && response.getHttpStatus() != null && response.getHttpStatus().is5xxServerError()) {
+            failed = true;
+        }
+        registry.get(lbResponse.getServer()).onComplete(now - timed.getRequestStartTime(), failed, now);
+    }
+}
@@ -0,0 +1,75 @@
+package com.careermate.gateway.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory token buckets used while Redis is unreachable. Limits then apply per gateway
+ * instance rather than cluster-wide, which is looser but keeps abusive clients in check.
+ */
+public class LocalTokenBuckets {
+
+    private final int maxBuckets;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    public LocalTokenBuckets(int maxBuckets) {
+        this.maxBuckets = maxBuckets;
+    }
+
+    public RateLimitDecision tryConsume(String key, int capacity, double refillPerSecond) {
+        long now = System.currentTimeMillis();
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxBuckets) {
+                evictIdle(now);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new Bucket(capacity, now));
+        }
+        return bucket.tryConsume(capacity, refillPerSecond, now);
+    }
+
+    // A bucket that has refilled to capacity behaves exactly like a new one, so it can go
+    private void evictIdle(long now) {
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+        if (buckets.size() >= maxBuckets) {
+            buckets.clear();
+        }
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long updatedAt;
+        private int capacity;
+        private double refillPerSecond;
+
+        Bucket(int capacity, long now) {
+            this.tokens = capacity;
+            this.capacity = capacity;
+            this.updatedAt = now;
+        }
+
+        synchronized RateLimitDecision tryConsume(int capacity, double refillPerSecond, long now) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+            refill(now);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return new RateLimitDecision(true, (long) tokens, 0);
+            }
+            long retryAfterMs = (long) Math.ceil((1 - tokens) * 1000 / refillPerSecond);
+            return new RateLimitDecision(false, 0, retryAfterMs);
+        }
+
+        synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= capacity;
+        }
+
+        private void refill(long now) {
+            if (now > updatedAt) {
+                tokens = Math.min(capacity, tokens + (now - updatedAt) * refillPerSecond / 1000);
+                updatedAt = now;
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.careermate.gateway.ratelimit;
+
+public class RateLimitDecision {
+
+    private final boolean allowed;
+    private final long remaining;
+    private final long retryAfterMs;
+
+    public RateLimitDecision(boolean allowed, long remaining, long retryAfterMs) {
+        this.allowed = allowed;
+        this.remaining = remaining;
+        this.retryAfterMs = retryAfterMs;
+    }
+
+    public boolean isAllowed() {
+        return allowed;
+    }
+
+    public long getRemaining() {
+        return remaining;
+    }
+
+    public long getRetryAfterMs() {
+        return retryAfterMs;
+    }
+}
@@ -0,0 +1,107 @@
+package com.careermate.gateway.ratelimit;
+
+import com.careermate.gateway.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Distributed token bucket. Each bucket is a Redis hash updated by one Lua script, so
+ * refill and take happen atomically no matter how many gateways share it, and Redis's
+ * own clock is used so gateway clock skew does not matter. When Redis fails or is slow
+ * the limiter switches to {@link LocalTokenBuckets} for a while.
+ */
+@Component
+public class TokenBucketRateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenBucketRateLimiter.class);
+
+    private static final String KEY_PREFIX = "gateway:rl:";
+
+    // Returns {allowed, remaining, retryAfterMs}
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> TOKEN_BUCKET = RedisScript.of(
+            "redis.replicate_commands()\n" +
+            "local capacity = tonumber(ARGV[1])\n" +
+            "local rate = tonumber(ARGV[2])\n" +
+            "local time = redis.call('TIME')\n" +
+            "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)\n" +
+            "local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')\n" +
+            "local tokens = tonumber(state[1])\n" +
+            "local ts = tonumber(state[2])\n" +
+            "if tokens == nil or ts == nil then\n" +
+            "  tokens = capacity\n" +
+            "  ts = now\n" +
+            "end\n" +
+            "tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate / 1000)\n" +
+            "local allowed = 0\n" +
+            "local retry = 0\n" +
+            "if tokens >= 1 then\n" +
+            "  tokens = tokens - 1\n" +
+            "  allowed = 1\n" +
+            "else\n" +
+            "  retry = math.ceil((1 - tokens) * 1000 / rate)\n" +
+            "end\n" +
+            "redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)\n" +
+            // Idle buckets expire once they would have refilled anyway
+            "redis.call('PEXPIRE', KEYS[1], math.ceil(capacity * 1000 / rate) + 1000)\n" +
+            "return {allowed, math.floor(tokens), retry}",
+            List.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final RateLimitProperties properties;
+    private final LocalTokenBuckets localBuckets;
+    private final Counter fallbacks;
+
+    private volatile long redisDownUntil;
+
+    public TokenBucketRateLimiter(ReactiveStringRedisTemplate redisTemplate,
+                                  RateLimitProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.localBuckets = new LocalTokenBuckets(properties.getMaxLocalBuckets());
+        this.fallbacks = Counter.builder("gateway.rate_limit.fallback")
+                .description("Rate limit decisions made locally because Redis was unavailable")
+                .register(meterRegistry);
+    }
+
+    public Mono<RateLimitDecision> tryConsume(String key, RateLimitProperties.Limit limit) {
+        if (System.currentTimeMillis() < redisDownUntil) {
+            return Mono.just(local(key, limit));
+        }
+        return redisTemplate.execute(TOKEN_BUCKET, List.of(KEY_PREFIX + key),
+                        List.of(String.valueOf(limit.getCapacity()), String.valueOf(limit.getRefillPerSecond())))
+                .next()
+                .map(TokenBucketRateLimiter::toDecision)
+                .timeout(Duration.ofMillis(properties.getRedisTimeoutMs()))
+                .onErrorResume(e -> {
+                    if (System.currentTimeMillis() >= redisDownUntil) {
+                        log.warn("Rate limiter falling back to local buckets: {}", e.toString());
+                    }
+                    redisDownUntil = System.currentTimeMillis() + properties.getRedisRetryAfterMs();
+                    return Mono.just(local(key, limit));
+                });
+    }
+
+    private RateLimitDecision local(String key, RateLimitProperties.Limit limit) {
+        fallbacks.increment();
+        return localBuckets.tryConsume(key, limit.getCapacity(), limit.getRefillPerSecond());
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static RateLimitDecision toDecision(List result) {
+        long allowed = ((Number) result.get(0)).longValue();
+        long remaining = ((Number) result.get(1)).longValue();
+        long retryAfterMs = ((Number) result.get(2)).longValue();
+        return new RateLimitDecision(allowed == 1, remaining, retryAfterMs);
+    }
+}
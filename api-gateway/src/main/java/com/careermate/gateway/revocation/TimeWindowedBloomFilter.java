@@ -0,0 +1,133 @@
+package com.careermate.gateway.revocation;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bloom filter of revoked token ids, split into segments by token expiry. A revoked
+ * token is added to the segment covering its expiry and looked up only there, so a
+ * membership test touches one segment no matter how many revocations are held. Once
+ * every token a segment covers has expired its slot is reused, which keeps memory
+ * bounded by the revocations of one token lifetime.
+ */
+public class TimeWindowedBloomFilter {
+
+    private final long segmentMillis;
+    private final int bitsPerSegment;
+    private final int hashCount;
+    private final AtomicReferenceArray<Segment> segments;
+
+    public TimeWindowedBloomFilter(long maxTokenLifetimeMillis, int segmentCount,
+                                   long expectedPerLifetime, double falsePositiveRate) {
+        this.segmentMillis = Math.max(1, maxTokenLifetimeMillis / segmentCount);
+        long expectedPerSegment = Math.max(1, expectedPerLifetime / segmentCount);
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-expectedPerSegment * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.bitsPerSegment = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, bits));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitsPerSegment / expectedPerSegment * ln2));
+        // One extra slot so the segment being filled never shares a slot with a live one
+        this.segments = new AtomicReferenceArray<>(segmentCount + 1);
+    }
+
+    public void add(String tokenId, long expiresAtMillis) {
+        long epoch = expiresAtMillis / segmentMillis;
+        Segment segment = segmentFor(epoch, true);
+        if (segment == null) {
+            return;
+        }
+        long h1 = hash1(tokenId);
+        long h2 = hash2(tokenId);
+        for (int i = 0; i < hashCount; i++) {
+            segment.set(index(h1, h2, i));
+        }
+    }
+
+    public boolean mightContain(String tokenId, long expiresAtMillis) {
+        Segment segment = segmentFor(expiresAtMillis / segmentMillis, false);
+        if (segment == null) {
+            return false;
+        }
+        long h1 = hash1(tokenId);
+        long h2 = hash2(tokenId);
+        for (int i = 0; i < hashCount; i++) {
+            if (!segment.get(index(h1, h2, i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Segment segmentFor(long epoch, boolean create) {
+        int slot = (int) Math.floorMod(epoch, (long) segments.length());
+        while (true) {
+            Segment current = segments.get(slot);
+            if (current != null && current.epoch == epoch) {
+                return current;
+            }
+            if (!create || (current != null && current.epoch > epoch)) {
+                // Slot already belongs to a later window: everything this epoch covered has expired
+                return null;
+            }
+            Segment fresh = new Segment(epoch, bitsPerSegment);
+            if (segments.compareAndSet(slot, current, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private int index(long h1, long h2, int i) {
+        return (int) Math.floorMod(h1 + i * h2, (long) bitsPerSegment);
+    }
+
+    private static long hash1(String value) {
+        // FNV-1a over the UTF-8 bytes, finished with a 64-bit mix
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long hash2(String value) {
+        long hash = 0x9e3779b97f4a7c15L;
+        for (int i = 0; i < value.length(); i++) {
+            hash = hash * 31 + value.charAt(i);
+        }
+        // Odd so successive probes never collapse onto the same bit
+        return mix(hash) | 1L;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
+    private static final class Segment {
+        final long epoch;
+        final AtomicLongArray words;
+
+        Segment(long epoch, int bits) {
+            this.epoch = epoch;
+            this.words = new AtomicLongArray((bits + 63) >>> 6);
+        }
+
+        void set(int bit) {
+            int word = bit >>> 6;
+            long mask = 1L << (bit & 63);
+            long current;
+            do {
+                current = words.get(word);
+                if ((current & mask) != 0) {
+                    return;
+                }
+            } while (!words.compareAndSet(word, current, current | mask));
+        }
+
+        boolean get(int bit) {
+            return (words.get(bit >>> 6) & (1L << (bit & 63))) != 0;
+        }
+    }
+}
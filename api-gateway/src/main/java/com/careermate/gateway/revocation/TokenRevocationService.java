@@ -0,0 +1,89 @@
+package com.careermate.gateway.revocation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * Answers "was this access token revoked?" for the JWT filter. Revoked ids published by
+ * auth-service are kept in a local Bloom filter, so almost every request is answered in
+ * memory; only Bloom hits go to Redis for the exact answer.
+ */
+@Component
+public class TokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    // Written by auth-service's AccessTokenRevocationPublisher
+    private static final String REVOKED_SET = "auth:revoked-access-tokens";
+    private static final String REVOKED_CHANNEL = "auth:revoked-access-tokens";
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final TimeWindowedBloomFilter bloomFilter;
+
+    public TokenRevocationService(ReactiveStringRedisTemplate redisTemplate,
+                                  @Value("${revocation.max-token-lifetime-ms:86400000}") long maxTokenLifetimeMs,
+                                  @Value("${revocation.bloom.segments:8}") int segments,
+                                  @Value("${revocation.bloom.expected-revocations:1000000}") long expectedRevocations,
+                                  @Value("${revocation.bloom.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.redisTemplate = redisTemplate;
+        this.bloomFilter = new TimeWindowedBloomFilter(maxTokenLifetimeMs, segments, expectedRevocations, falsePositiveRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        // Subscribe first and load the snapshot once the subscription is live, so nothing published in between is lost
+        redisTemplate.listenToChannelLater(REVOKED_CHANNEL)
+                .flatMapMany(messages -> loadSnapshot().thenMany(messages))
+                .doOnNext(message -> onRevoked(message.getMessage()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> log.warn("Revocation feed lost, resubscribing: {}", signal.failure().getMessage())))
+                .subscribe();
+    }
+
+    public Mono<Boolean> isRevoked(String tokenId, Date expiresAt) {
+        if (tokenId == null || expiresAt == null) {
+            return Mono.just(false);
+        }
+        if (!bloomFilter.mightContain(tokenId, expiresAt.getTime())) {
+            return Mono.just(false);
+        }
+        return redisTemplate.opsForZSet().score(REVOKED_SET, tokenId)
+                .map(score -> true)
+                .defaultIfEmpty(false)
+                // The filter already says "probably revoked"; without Redis, err on the side of rejecting
+                .onErrorReturn(true);
+    }
+
+    private Mono<Void> loadSnapshot() {
+        double now = System.currentTimeMillis();
+        return redisTemplate.opsForZSet()
+                .rangeByScoreWithScores(REVOKED_SET, Range.closed(now, Double.POSITIVE_INFINITY))
+                .doOnNext(entry -> bloomFilter.add(entry.getValue(), entry.getScore().longValue()))
+                .count()
+                .doOnNext(count -> log.info("Loaded {} revoked access tokens", count))
+                .then();
+    }
+
+    private void onRevoked(String payload) {
+        int separator = payload.lastIndexOf(':');
+        if (separator <= 0) {
+            return;
+        }
+        try {
+            bloomFilter.add(payload.substring(0, separator), Long.parseLong(payload.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed revocation message: {}", payload);
+        }
+    }
+}
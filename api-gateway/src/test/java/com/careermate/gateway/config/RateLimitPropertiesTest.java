@@ -0,0 +1,52 @@
+package com.careermate.gateway.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Overrides are configured by role name (ADMIN), while the JWT claim the filter passes in
+ * carries Spring's prefix (ROLE_ADMIN).
+ */
+class RateLimitPropertiesTest {
+
+    private RateLimitProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setDefaultLimit(limit(60, Map.of("ADMIN", limit(300, Map.of()))));
+        properties.setRoutes(Map.of("job-service", limit(40, Map.of("ADMIN", limit(250, Map.of())))));
+    }
+
+    @Test
+    void resolvesTheRouteOverrideForAPrefixedRoleClaim() {
+        assertEquals(250, properties.resolve("job-service", "ROLE_ADMIN").getCapacity());
+    }
+
+    @Test
+    void resolvesTheDefaultOverrideForAPrefixedRoleClaim() {
+        assertEquals(300, properties.resolve("auth-service", "ROLE_ADMIN").getCapacity());
+    }
+
+    @Test
+    void acceptsRolesWithoutThePrefix() {
+        assertEquals(250, properties.resolve("job-service", "ADMIN").getCapacity());
+    }
+
+    @Test
+    void fallsBackToTheRouteLimitForRolesWithoutAnOverride() {
+        assertEquals(40, properties.resolve("job-service", "ROLE_CANDIDATE").getCapacity());
+        assertEquals(60, properties.resolve("auth-service", "ROLE_CANDIDATE").getCapacity());
+        assertEquals(60, properties.resolve(null, null).getCapacity());
+    }
+
+    private static RateLimitProperties.Limit limit(int capacity, Map<String, RateLimitProperties.Limit> roles) {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit(capacity, capacity / 5.0);
+        limit.setRoles(roles);
+        return limit;
+    }
+}
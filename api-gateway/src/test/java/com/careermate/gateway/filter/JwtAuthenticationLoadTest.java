@@ -0,0 +1,171 @@
+package com.careermate.gateway.filter;
+
+import com.careermate.gateway.jwt.GatewayJwtVerifier;
+import com.careermate.gateway.jwt.JwksKeyCache;
+import com.careermate.gateway.revocation.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.server.WebHandler;
+import reactor.core.publisher.Mono;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Requests per second through the gateway's JWT handling, before and after it was reduced to
+ * one verification per request. "Before" reproduces the old path: the global filter and the
+ * route filter on /api/jobs/** each built a parser and checked the signature. "After" is
+ * {@link JwtAuthenticationGlobalFilter} with the current {@link GatewayJwtVerifier}.
+ *
+ * Both run in memory through WebTestClient against a handler that answers 200, so the numbers
+ * isolate the authentication cost from routing and the network. Clients reuse their tokens,
+ * as browsers do between refreshes. Run it with:
+ *
+ * <pre>mvn -pl api-gateway test -Dtest=JwtAuthenticationLoadTest -Dbenchmark=true</pre>
+ *
+ * Optional -Dbenchmark.threads, -Dbenchmark.seconds and -Dbenchmark.users change the load.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class JwtAuthenticationLoadTest {
+
+    private static final String KID = "bench";
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 8);
+    private static final int SECONDS = Integer.getInteger("benchmark.seconds", 10);
+    private static final int USERS = Integer.getInteger("benchmark.users", 1_000);
+
+    @Test
+    void comparesRequestsPerSecondBeforeAndAfter() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair keys = generator.generateKeyPair();
+
+        JwksKeyCache keyCache = mock(JwksKeyCache.class);
+        when(keyCache.key(KID)).thenReturn(Mono.just(keys.getPublic()));
+        TokenRevocationService revocation = mock(TokenRevocationService.class);
+        when(revocation.isRevoked(anyString(), any(Date.class))).thenReturn(Mono.just(false));
+
+        List<String> tokens = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            tokens.add(token(keys, i));
+        }
+
+        JwtAuthenticationGlobalFilter globalFilter =
+                new JwtAuthenticationGlobalFilter(new GatewayJwtVerifier(keyCache, "", false, 50_000), revocation);
+        WebFilter after = (exchange, chain) -> globalFilter.filter(exchange, chain::filter);
+        WebFilter before = new PerCallVerificationFilter(keys.getPublic(), revocation);
+
+        // Warm both paths up before measuring either
+        run(client(before), tokens, 2);
+        run(client(after), tokens, 2);
+        double beforeRps = run(client(before), tokens, SECONDS);
+        double afterRps = run(client(after), tokens, SECONDS);
+
+        System.out.printf("threads=%d users=%d seconds=%d%n", THREADS, USERS, SECONDS);
+        System.out.printf("%-44s %12.0f req/s%n", "before: two per-call verifications", beforeRps);
+        System.out.printf("%-44s %12.0f req/s%n", "after: one verification, claims cache", afterRps);
+        System.out.printf("%-44s %12.1fx%n", "speedup", afterRps / beforeRps);
+
+        assertTrue(afterRps > beforeRps, "single verification was not faster");
+    }
+
+    private static WebTestClient client(WebFilter authentication) {
+        WebHandler backend = exchange -> {
+            boolean identified = exchange.getRequest().getHeaders().containsKey(JwtAuthenticationGlobalFilter.USER_ID_HEADER);
+            exchange.getResponse().setStatusCode(identified ? HttpStatus.OK : HttpStatus.UNAUTHORIZED);
+            return exchange.getResponse().setComplete();
+        };
+        return WebTestClient.bindToWebHandler(backend).webFilter(authentication).build();
+    }
+
+    private static double run(WebTestClient client, List<String> tokens, int seconds) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        long start = System.nanoTime();
+        List<Future<Long>> counts = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int offset = t;
+            counts.add(pool.submit(() -> {
+                long requests = 0;
+                for (int i = offset; System.nanoTime() < deadline; i += THREADS) {
+                    client.get().uri("/api/jobs/1")
+                            .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokens.get(i % tokens.size()))
+                            .exchange()
+                            .expectStatus().isOk();
+                    requests++;
+                }
+                return requests;
+            }));
+        }
+        long total = 0;
+        for (Future<Long> count : counts) {
+            total += count.get();
+        }
+        pool.shutdown();
+        return total / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private static String token(KeyPair keys, int user) {
+        return Jwts.builder()
+                .setHeaderParam("kid", KID)
+                .setSubject("user" + user + "@example.com")
+                .setId(UUID.randomUUID().toString())
+                .claim("role", "ROLE_CANDIDATE")
+                .claim("uid", (long) user + 1)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 3_600_000L))
+                .signWith(SignatureAlgorithm.ES256, keys.getPrivate())
+                .compact();
+    }
+
+    /** The old path: the global filter and the /api/jobs route filter each parse the token from scratch. */
+    private static class PerCallVerificationFilter implements WebFilter {
+
+        private final PublicKey key;
+        private final TokenRevocationService revocation;
+
+        PerCallVerificationFilter(PublicKey key, TokenRevocationService revocation) {
+            this.key = key;
+            this.revocation = revocation;
+        }
+
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+            String token = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION).substring(7);
+            Claims global = Jwts.parser().setSigningKey(key).parseClaimsJws(token).getBody();
+            return revocation.isRevoked(global.getId(), global.getExpiration()).flatMap(revoked -> {
+                Claims route = Jwts.parser().setSigningKey(key).parseClaimsJws(token).getBody();
+                ServerHttpRequest request = exchange.getRequest().mutate()
+                        .header(JwtAuthenticationGlobalFilter.USER_EMAIL_HEADER, route.getSubject())
+                        .header(JwtAuthenticationGlobalFilter.USER_ID_HEADER, String.valueOf(route.get("uid")))
+                        .build();
+                return chain.filter(exchange.mutate().request(request).build());
+            });
+        }
+    }
+}
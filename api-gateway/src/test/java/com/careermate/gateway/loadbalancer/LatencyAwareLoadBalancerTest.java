@@ -0,0 +1,182 @@
+package com.careermate.gateway.loadbalancer;
+
+import com.careermate.gateway.config.LatencyLoadBalancerProperties;
+import com.careermate.gateway.filter.InFlightTrackingFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives {@link LatencyAwareLoadBalancer#choose(List)} against simulated instances with fixed
+ * latencies. One request arrives per simulated millisecond and completes after its instance's
+ * latency, so in-flight counts build up the way they would under steady load.
+ */
+class LatencyAwareLoadBalancerTest {
+
+    private InstanceStatsRegistry registry;
+    private LatencyAwareLoadBalancer loadBalancer;
+
+    private final PriorityQueue<Completion> pending = new PriorityQueue<>();
+    private long clockMs;
+
+    @BeforeEach
+    void setUp() {
+        registry = new InstanceStatsRegistry(new LatencyLoadBalancerProperties(), new SimpleMeterRegistry());
+        loadBalancer = new LatencyAwareLoadBalancer(null, "job-service", registry);
+    }
+
+    @Test
+    void sendsLessTrafficToTheSlowerInstance() {
+        // 2.5x the median stays under the outlier factor, so only the cost comparison is at work
+        List<ServiceInstance> instances = List.of(instance(1), instance(2), instance(3));
+        Map<ServiceInstance, Long> latencyMs = Map.of(instances.get(0), 10L, instances.get(1), 10L, instances.get(2), 25L);
+
+        Map<ServiceInstance, Integer> picks = run(instances, latencyMs, 5_000);
+
+        double slowShare = picks.getOrDefault(instances.get(2), 0) / 5_000.0;
+        assertTrue(slowShare < 0.25, "slow instance got " + slowShare + " of the traffic");
+        assertTrue(slowShare > 0.02, "slow instance was starved at " + slowShare);
+    }
+
+    @Test
+    void ejectsAnInstanceFarAboveTheMedian() {
+        List<ServiceInstance> instances = List.of(instance(1), instance(2), instance(3));
+        Map<ServiceInstance, Long> latencyMs = Map.of(instances.get(0), 10L, instances.get(1), 10L, instances.get(2), 100L);
+
+        run(instances, latencyMs, 2_000);
+        Map<ServiceInstance, Integer> picks = run(instances, latencyMs, 2_000);
+
+        assertEquals(0, picks.getOrDefault(instances.get(2), 0));
+    }
+
+    @Test
+    void doesNotFloodAnInstanceWithoutSamples() {
+        List<ServiceInstance> warm = List.of(instance(1), instance(2));
+        Map<ServiceInstance, Long> latencyMs = new HashMap<>(Map.of(warm.get(0), 10L, warm.get(1), 10L));
+        run(warm, latencyMs, 1_000);
+
+        // The new instance answers nothing for 200ms, so it has in-flight requests but no samples
+        ServiceInstance fresh = instance(3);
+        latencyMs.put(fresh, 200L);
+        List<ServiceInstance> instances = List.of(warm.get(0), warm.get(1), fresh);
+        Map<ServiceInstance, Integer> picks = run(instances, latencyMs, 150);
+
+        // Its queue should settle near the warm instances' (about 5 each); costing it at 0 piles up ~100
+        assertTrue(registry.get(fresh).getInFlight() <= 10,
+                "fresh instance piled up " + registry.get(fresh).getInFlight() + " requests");
+        assertTrue(picks.getOrDefault(fresh, 0) > 0, "fresh instance was never probed");
+    }
+
+    @Test
+    void releasesTheSlotOfACancelledRoutedRequest() {
+        ServiceInstance instance = instance(1);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/jobs/1"));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR, new DefaultResponse(instance));
+
+        // The upstream never answers, as when the client disconnects or a hedge wins first
+        Disposable request = new InFlightTrackingFilter(registry).filter(exchange, e -> Mono.never()).subscribe();
+        assertEquals(1, registry.get(instance).getInFlight());
+
+        request.dispose();
+        assertEquals(0, registry.get(instance).getInFlight());
+    }
+
+    @Test
+    void releasesTheSlotOfACancelledWebClientCall() {
+        ServiceInstance instance = instance(1);
+        LatencyTrackingLifecycle lifecycle = new LatencyTrackingLifecycle(registry);
+        // Stands in for the load balancer's filter: picks the instance and reports it, nothing else
+        ExchangeFilterFunction loadBalancer = (request, next) -> {
+            lifecycle.onStartRequest(new DefaultRequest<>(new RequestDataContext(new RequestData(request))),
+                    new DefaultResponse(instance));
+            return next.exchange(request);
+        };
+        ExchangeFunction client = new InFlightTrackingExchangeFilterFunction()
+                .andThen(loadBalancer)
+                .apply(request -> Mono.never());
+
+        Disposable call = client.exchange(ClientRequest.create(HttpMethod.GET, URI.create("http://job-service/api/jobs/1")).build())
+                .subscribe();
+        assertEquals(1, registry.get(instance).getInFlight());
+
+        call.dispose();
+        assertEquals(0, registry.get(instance).getInFlight());
+    }
+
+    @Test
+    void keepsRoutingToAnInstanceWhoseRequestsWereCancelled() {
+        List<ServiceInstance> instances = List.of(instance(1), instance(2));
+        Map<ServiceInstance, Long> latencyMs = Map.of(instances.get(0), 10L, instances.get(1), 10L);
+        run(instances, latencyMs, 1_000);
+
+        // Hedge losers on instance 2: started, then cancelled without a completion
+        for (int i = 0; i < 200; i++) {
+            InFlightSlot slot = new InFlightSlot();
+            slot.acquire(registry.get(instances.get(1)));
+            slot.release();
+        }
+        Map<ServiceInstance, Integer> picks = run(instances, latencyMs, 1_000);
+
+        double share = picks.getOrDefault(instances.get(1), 0) / 1_000.0;
+        assertTrue(share > 0.4, "instance with cancelled requests only got " + share + " of the traffic");
+    }
+
+    private Map<ServiceInstance, Integer> run(List<ServiceInstance> instances, Map<ServiceInstance, Long> latencyMs,
+                                              int requests) {
+        Map<ServiceInstance, Integer> picks = new HashMap<>();
+        for (int i = 0; i < requests; i++) {
+            clockMs++;
+            completeDue();
+            ServiceInstance chosen = loadBalancer.choose(new ArrayList<>(instances)).getServer();
+            picks.merge(chosen, 1, Integer::sum);
+            registry.get(chosen).onStart();
+            pending.add(new Completion(clockMs + latencyMs.get(chosen), chosen, latencyMs.get(chosen)));
+        }
+        return picks;
+    }
+
+    private void completeDue() {
+        while (!pending.isEmpty() && pending.peek().doneAtMs <= clockMs) {
+            Completion done = pending.poll();
+            InstanceStats stats = registry.get(done.instance);
+            stats.onComplete(done.latencyMs * 1_000_000L, false, System.nanoTime());
+            stats.onRelease();
+        }
+    }
+
+    private static ServiceInstance instance(int n) {
+        return new DefaultServiceInstance("job-service-" + n, "job-service", "10.0.0." + n, 8082, false);
+    }
+
+    private record Completion(long doneAtMs, ServiceInstance instance, long latencyMs) implements Comparable<Completion> {
+        @Override
+        public int compareTo(Completion other) {
+            return Long.compare(doneAtMs, other.doneAtMs);
+        }
+    }
+}
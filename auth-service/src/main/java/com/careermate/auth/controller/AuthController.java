@@ -1,13 +1,22 @@
 package com.careermate.auth.controller;
 
 import com.careermate.auth.dto.*;
+import com.careermate.auth.entity.Role;
+import com.careermate.auth.security.AuthenticatedUser;
 import com.careermate.auth.service.AuthenticationService;
+import com.careermate.auth.service.UserDirectory;
+import com.careermate.auth.service.UserProvisioningService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -15,9 +24,15 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthenticationService authenticationService;
+    private final UserDirectory userDirectory;
+    private final UserProvisioningService userProvisioningService;
 
-    public AuthController(AuthenticationService authenticationService) {
+    public AuthController(AuthenticationService authenticationService,
+                          UserDirectory userDirectory,
+                          UserProvisioningService userProvisioningService) {
         this.authenticationService = authenticationService;
+        this.userDirectory = userDirectory;
+        this.userProvisioningService = userProvisioningService;
     }
 
     @PostMapping("/register")
@@ -32,6 +47,12 @@ public class AuthController {
         return ResponseEntity.ok(authenticationService.register(request));
     }
 
+    @PostMapping("/admin/users/bulk")
+    @Operation(summary = "Create many users in one request, with a result per row (Admin only)")
+    public ResponseEntity<List<BulkProvisionResult>> provisionUsers(@RequestBody BulkProvisionRequest request) {
+        return ResponseEntity.ok(userProvisioningService.provision(request.getUsers()));
+    }
+
     @PostMapping("/login")
     @Operation(summary = "Login with email and password")
     public ResponseEntity<TokenResponse> login(@Valid @RequestBody LoginRequest request) {
@@ -47,14 +68,49 @@ public class AuthController {
     @PostMapping("/logout")
     @Operation(summary = "Logout user")
     public ResponseEntity<Void> logout(Authentication authentication) {
-        authenticationService.logout(authentication.getName());
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        authenticationService.logout(user.getEmail(), user.getTokenId(), user.getTokenExpiresAt());
         return ResponseEntity.ok().build();
     }
 
     @GetMapping("/users")
-    @Operation(summary = "Get all users (Admin only)")
-    public ResponseEntity<?> getAllUsers() {
-        return ResponseEntity.ok(authenticationService.getAllUsers());
+    @Operation(summary = "List or search users one page at a time (Admin only)")
+    public ResponseEntity<List<UserResponse>> getUsers(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "" + UserDirectory.DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(required = false) String emailPrefix,
+            @RequestParam(required = false) Role role,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(defaultValue = "false") boolean newestFirst,
+            @RequestParam(required = false) Long before) {
+        List<UserResponse> users = newestFirst
+                ? userDirectory.searchNewest(before, limit, emailPrefix, role, active)
+                : userDirectory.search(after, limit, emailPrefix, role, active);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        // A full page may have more behind it; the client passes this back as ?after=,
+        // or as ?before= when paging newest first
+        if (users.size() == Math.max(1, Math.min(limit, UserDirectory.MAX_PAGE_SIZE))) {
+            response.header("X-Next-Cursor", String.valueOf(users.get(users.size() - 1).getId()));
+        }
+        return response.body(users);
+    }
+
+    @GetMapping("/users/count")
+    @Operation(summary = "Count users in total, active and per role (Admin only)")
+    public ResponseEntity<Map<String, Long>> countUsers() {
+        return ResponseEntity.ok(userDirectory.counts());
+    }
+
+    @GetMapping(value = "/admin/users/export", produces = "application/x-ndjson")
+    @Operation(summary = "Stream matching users as newline-delimited JSON (Admin only)")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(required = false) String emailPrefix,
+            @RequestParam(required = false) Role role,
+            @RequestParam(required = false) Boolean active) {
+        StreamingResponseBody body = out -> userDirectory.export(emailPrefix, role, active, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
     }
 
     @PutMapping("/users/{userId}/deactivate")
@@ -0,0 +1,24 @@
+package com.careermate.auth.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkProvisionRequest {
+
+    private List<RegisterRequest> users = new ArrayList<>();
+
+    public BulkProvisionRequest() {
+    }
+
+    public BulkProvisionRequest(List<RegisterRequest> users) {
+        this.users = users;
+    }
+
+    public List<RegisterRequest> getUsers() {
+        return users;
+    }
+
+    public void setUsers(List<RegisterRequest> users) {
+        this.users = users;
+    }
+}
@@ -14,7 +14,8 @@ import java.util.List;
 
 @Entity
 @Table(name = "users", indexes = {
-    @Index(name = "idx_user_email", columnList = "email")
+    @Index(name = "idx_user_email", columnList = "email"),
+    @Index(name = "idx_user_role_active", columnList = "role, is_active, id")
 })
 @EntityListeners(AuditingEntityListener.class)
 public class User implements UserDetails {
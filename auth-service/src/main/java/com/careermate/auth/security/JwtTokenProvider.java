@@ -1,21 +1,20 @@
 package com.careermate.auth.security;
 
+import com.careermate.auth.entity.User;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class JwtTokenProvider {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private final SigningKeyStore keyStore;
+    private final JwtVerifier verifier;
 
     @Value("${jwt.expiration}")
     private long jwtExpiration;
@@ -23,8 +22,9 @@ public class JwtTokenProvider {
     @Value("${jwt.refresh-expiration}")
     private long refreshExpiration;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    public JwtTokenProvider(SigningKeyStore keyStore, JwtVerifier verifier) {
+        this.keyStore = keyStore;
+        this.verifier = verifier;
     }
 
     public String generateAccessToken(Authentication authentication) {
@@ -32,53 +32,59 @@ public class JwtTokenProvider {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
 
+        SigningKeyStore.SigningKey key = keyStore.active();
+
         // Extract role from authorities
         String role = userDetails.getAuthorities().iterator().next().getAuthority();
 
-        return Jwts.builder()
+        // jti lets a single access token be revoked at the gateway
+        JwtBuilder builder = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, key.getKid())
                 .setSubject(userDetails.getUsername())
-                .claim("role", role)
+                .setId(UUID.randomUUID().toString())
+                .claim("role", role);
+        if (userDetails instanceof User user && user.getId() != null) {
+            builder.claim("uid", user.getId());
+        }
+
+        return builder
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(key.getPrivateKey(), SignatureAlgorithm.ES256)
                 .compact();
     }
 
     public String generateRefreshToken(String email) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + refreshExpiration);
+        SigningKeyStore.SigningKey key = keyStore.active();
 
+        // Random id so two refresh tokens issued in the same second never collide
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, key.getKid())
                 .setSubject(email)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(key.getPrivateKey(), SignatureAlgorithm.ES256)
                 .compact();
     }
 
-    public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .setSigningKey(getSigningKey())
-                .parseClaimsJws(token)
-                .getBody();
+    public VerifiedClaims verify(String token) {
+        return verifier.verify(token);
+    }
 
-        return claims.getSubject();
+    public String getEmailFromToken(String token) {
+        return verifier.verify(token).getSubject();
     }
 
     public String getRoleFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .setSigningKey(getSigningKey())
-                .parseClaimsJws(token)
-                .getBody();
-
-        return claims.get("role", String.class);
+        return verifier.verify(token).getRole();
     }
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                    .setSigningKey(getSigningKey())
-                    .parseClaimsJws(token);
+            verifier.verify(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             return false;
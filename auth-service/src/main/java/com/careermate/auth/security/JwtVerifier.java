@@ -0,0 +1,104 @@
+package com.careermate.auth.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Verifies access tokens with a parser built once, resolving the ES256 public key by
+ * the token's kid, and remembers
+ * verified claims by token digest until the token expires so repeat requests with the
+ * same token skip signature checking and JSON parsing.
+ */
+@Component
+public class JwtVerifier {
+
+    private final JwtParser parser;
+    private final int maxCachedTokens;
+
+    // Keyed by digest rather than the token itself so the cache never holds usable credentials
+    private final Map<String, VerifiedClaims> verified = new ConcurrentHashMap<>();
+    private volatile long lastSweepMillis;
+
+    public JwtVerifier(SigningKeyStore keyStore,
+                       @Value("${jwt.secret:}") String legacySecret,
+                       @Value("${jwt.legacy-hmac-enabled:false}") boolean legacyHmacEnabled,
+                       @Value("${jwt.verified-cache-size:50000}") int maxCachedTokens) {
+        // Tokens signed with the old shared secret carry no kid; accept them only while migrating
+        Key legacyKey = legacyHmacEnabled && !legacySecret.isEmpty()
+                ? Keys.hmacShaKeyFor(legacySecret.getBytes(StandardCharsets.UTF_8))
+                : null;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        String kid = header.getKeyId();
+                        if (kid == null) {
+                            if (legacyKey == null) {
+                                throw new UnsupportedJwtException("JWT has no kid");
+                            }
+                            return legacyKey;
+                        }
+                        Key key = keyStore.publicKey(kid);
+                        if (key == null) {
+                            throw new UnsupportedJwtException("Unknown JWT signing key " + kid);
+                        }
+                        return key;
+                    }
+                })
+                .build();
+        this.maxCachedTokens = maxCachedTokens;
+    }
+
+    /**
+     * Returns the claims of a valid token. Throws {@link io.jsonwebtoken.JwtException} or
+     * {@link IllegalArgumentException} if the token is malformed, forged or expired.
+     */
+    public VerifiedClaims verify(String token) {
+        if (token == null || token.isEmpty()) {
+            throw new IllegalArgumentException("JWT is empty");
+        }
+        long now = System.currentTimeMillis();
+        String digest = TokenHashes.sha256(token);
+        VerifiedClaims cached = verified.get(digest);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return cached;
+            }
+            verified.remove(digest);
+            throw new ExpiredJwtException(null, null, "JWT expired at " + cached.getExpiresAt());
+        }
+
+        VerifiedClaims claims = VerifiedClaims.from(parser.parseClaimsJws(token).getBody());
+        if (claims.getExpiresAt() != null) {
+            remember(digest, claims, now);
+        }
+        return claims;
+    }
+
+    private void remember(String digest, VerifiedClaims claims, long now) {
+        if (verified.size() >= maxCachedTokens) {
+            // Sweep at most once a second so a cache full of live tokens does not cost a scan per request
+            if (now - lastSweepMillis >= 1000) {
+                lastSweepMillis = now;
+                verified.values().removeIf(entry -> entry.isExpired(now));
+            }
+            if (verified.size() >= maxCachedTokens) {
+                return;
+            }
+        }
+        verified.put(digest, claims);
+    }
+}
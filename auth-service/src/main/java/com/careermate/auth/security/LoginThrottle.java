@@ -0,0 +1,59 @@
+package com.careermate.auth.security;
+
+import com.careermate.auth.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caps login attempts per email in a fixed window, so one account being hammered
+ * cannot take the whole hashing pool. Rejected attempts never reach BCrypt.
+ */
+@Component
+public class LoginThrottle {
+
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final int maxAttempts;
+    private final long windowMillis;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    public LoginThrottle(@Value("${auth.login.max-attempts-per-email:10}") int maxAttempts,
+                         @Value("${auth.login.window-seconds:60}") long windowSeconds) {
+        this.maxAttempts = maxAttempts;
+        this.windowMillis = windowSeconds * 1000;
+    }
+
+    public void acquire(String email) {
+        if (email == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (windows.size() > PRUNE_THRESHOLD) {
+            windows.values().removeIf(window -> now - window.start >= windowMillis);
+        }
+        Window window = windows.compute(email.toLowerCase(Locale.ROOT), (key, current) ->
+                current == null || now - current.start >= windowMillis ? new Window(now) : current.increment());
+        if (window.attempts > maxAttempts) {
+            long retryAfter = Math.max(1, (window.start + windowMillis - now + 999) / 1000);
+            throw new TooManyRequestsException("Too many login attempts, please retry later", retryAfter);
+        }
+    }
+
+    private static final class Window {
+        final long start;
+        int attempts = 1;
+
+        Window(long start) {
+            this.start = start;
+        }
+
+        Window increment() {
+            attempts++;
+            return this;
+        }
+    }
+}
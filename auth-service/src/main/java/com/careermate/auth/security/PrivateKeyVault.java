@@ -0,0 +1,117 @@
+package com.careermate.auth.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.SecureRandom;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+/**
+ * JWT signing private keys, kept out of Redis. Each key is a file named after its kid in a
+ * directory shared by the auth-service instances (a mounted volume or secret), encrypted with
+ * AES-256-GCM under jwt.keys.encryption-key, which is supplied from the environment.
+ */
+@Component
+public class PrivateKeyVault {
+
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+    private static final Pattern KID = Pattern.compile("[A-Za-z0-9_-]+");
+
+    private final Path directory;
+    private final SecretKey encryptionKey;
+    private final SecureRandom random = new SecureRandom();
+
+    public PrivateKeyVault(@Value("${jwt.keys.private-key-dir}") String directory,
+                           @Value("${jwt.keys.encryption-key:}") String encryptionKey) {
+        if (encryptionKey == null || encryptionKey.isBlank()) {
+            throw new IllegalStateException("jwt.keys.encryption-key (JWT_KEYS_ENCRYPTION_KEY) must be set");
+        }
+        byte[] keyBytes = Base64.getDecoder().decode(encryptionKey.trim());
+        if (keyBytes.length != 32) {
+            throw new IllegalStateException("jwt.keys.encryption-key must be 32 bytes, base64 encoded");
+        }
+        this.directory = Path.of(directory);
+        this.encryptionKey = new SecretKeySpec(keyBytes, "AES");
+        try {
+            Files.createDirectories(this.directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create JWT key directory " + directory, e);
+        }
+    }
+
+    public void store(String kid, PrivateKey key) {
+        try {
+            byte[] iv = new byte[IV_BYTES];
+            random.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, encryptionKey, new GCMParameterSpec(TAG_BITS, iv));
+            // Bind the ciphertext to its kid so files cannot be swapped
+            cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+            byte[] sealed = cipher.doFinal(key.getEncoded());
+
+            // Write then rename so other instances never read a half-written key
+            Path target = fileOf(kid);
+            Path temp = Files.createTempFile(directory, kid, ".tmp");
+            Files.write(temp, ByteBuffer.allocate(iv.length + sealed.length).put(iv).put(sealed).array());
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not encrypt JWT key " + kid, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write JWT key " + kid, e);
+        }
+    }
+
+    /**
+     * Returns the private key for a kid, or null when this instance has no file for it.
+     */
+    public PrivateKey load(String kid) {
+        Path file = fileOf(kid);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            byte[] stored = Files.readAllBytes(file);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, encryptionKey, new GCMParameterSpec(TAG_BITS, stored, 0, IV_BYTES));
+            cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+            byte[] pkcs8 = cipher.doFinal(stored, IV_BYTES, stored.length - IV_BYTES);
+            return KeyFactory.getInstance("EC").generatePrivate(new PKCS8EncodedKeySpec(pkcs8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("JWT key " + kid + " cannot be decrypted; check jwt.keys.encryption-key", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read JWT key " + kid, e);
+        }
+    }
+
+    public void delete(String kid) {
+        try {
+            Files.deleteIfExists(fileOf(kid));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete JWT key " + kid, e);
+        }
+    }
+
+    private Path fileOf(String kid) {
+        if (!KID.matcher(kid).matches()) {
+            throw new IllegalArgumentException("Invalid kid " + kid);
+        }
+        return directory.resolve(kid + ".key");
+    }
+}
@@ -0,0 +1,239 @@
+package com.careermate.auth.security;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.SecureRandom;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ES256 signing keys shared by all auth-service instances. Redis holds only the public
+ * keys and the active kid; private keys live encrypted in {@link PrivateKeyVault}. One key
+ * is active for signing; older keys stay published for verification until every token
+ * they could have signed has expired. Rotating stores a new key, and the other instances
+ * pick it up on their next reload, so rotation needs no redeploy.
+ */
+@Component
+public class SigningKeyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(SigningKeyStore.class);
+
+    private static final String KEYS_HASH = "auth:jwt:keys";
+    private static final String ACTIVE_KID = "auth:jwt:active-kid";
+    private static final String ROTATION_LOCK = "auth:jwt:rotation-lock";
+    private static final long MIN_RELOAD_INTERVAL_MS = 5_000;
+
+    private final StringRedisTemplate redisTemplate;
+    private final PrivateKeyVault vault;
+    private final SecureRandom random = new SecureRandom();
+
+    @Value("${jwt.expiration}")
+    private long jwtExpiration;
+
+    @Value("${jwt.refresh-expiration}")
+    private long refreshExpiration;
+
+    @Value("${jwt.keys.rotation-interval-days:30}")
+    private long rotationIntervalDays;
+
+    private volatile Map<String, SigningKey> keys = Map.of();
+    private volatile SigningKey active;
+    private volatile long lastReloadMillis;
+
+    public SigningKeyStore(StringRedisTemplate redisTemplate, PrivateKeyVault vault) {
+        this.redisTemplate = redisTemplate;
+        this.vault = vault;
+    }
+
+    @PostConstruct
+    public void init() {
+        reload();
+        if (active == null) {
+            SigningKey key = generate();
+            vault.store(key.getKid(), key.getPrivateKey());
+            redisTemplate.opsForHash().put(KEYS_HASH, key.getKid(), encode(key));
+            // Another instance may have won the race to create the first key; use whichever is active
+            redisTemplate.opsForValue().setIfAbsent(ACTIVE_KID, key.getKid());
+            reload();
+        }
+    }
+
+    public SigningKey active() {
+        SigningKey current = active;
+        if (current != null && current.getPrivateKey() == null) {
+            // Another instance may have rotated and written the file only just now
+            reload();
+            current = active;
+        }
+        if (current == null || current.getPrivateKey() == null) {
+            throw new IllegalStateException("Private key for the active JWT kid is not available; "
+                    + "is jwt.keys.private-key-dir shared by all instances?");
+        }
+        return current;
+    }
+
+    public Collection<SigningKey> all() {
+        return keys.values();
+    }
+
+    /**
+     * Public key for a kid, reloading from Redis (at most every few seconds) when the kid
+     * is unknown because another instance just rotated.
+     */
+    public ECPublicKey publicKey(String kid) {
+        SigningKey key = keys.get(kid);
+        if (key == null && System.currentTimeMillis() - lastReloadMillis >= MIN_RELOAD_INTERVAL_MS) {
+            reload();
+            key = keys.get(kid);
+        }
+        return key != null ? key.getPublicKey() : null;
+    }
+
+    public synchronized SigningKey rotate() {
+        SigningKey key = generate();
+        vault.store(key.getKid(), key.getPrivateKey());
+        redisTemplate.opsForHash().put(KEYS_HASH, key.getKid(), encode(key));
+        redisTemplate.opsForValue().set(ACTIVE_KID, key.getKid());
+        log.info("Rotated JWT signing key, new kid {}", key.getKid());
+        pruneRetired();
+        reload();
+        return active;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.keys.reload-interval-ms:60000}")
+    public void reloadAndRotateIfDue() {
+        reload();
+        pruneRetired();
+        SigningKey current = active;
+        if (rotationIntervalDays <= 0 || current == null) {
+            return;
+        }
+        if (System.currentTimeMillis() - current.getCreatedAt() >= Duration.ofDays(rotationIntervalDays).toMillis()) {
+            Boolean locked = redisTemplate.opsForValue().setIfAbsent(ROTATION_LOCK, "1", Duration.ofMinutes(5));
+            if (Boolean.TRUE.equals(locked)) {
+                rotate();
+            }
+        }
+    }
+
+    public synchronized void reload() {
+        Map<Object, Object> stored = redisTemplate.opsForHash().entries(KEYS_HASH);
+        Map<String, SigningKey> loaded = new HashMap<>();
+        for (Map.Entry<Object, Object> entry : stored.entrySet()) {
+            String kid = (String) entry.getKey();
+            SigningKey existing = keys.get(kid);
+            loaded.put(kid, existing != null && existing.getPrivateKey() != null
+                    ? existing : decode(kid, (String) entry.getValue()));
+        }
+        keys = loaded;
+        String activeKid = redisTemplate.opsForValue().get(ACTIVE_KID);
+        active = activeKid != null ? loaded.get(activeKid) : null;
+        lastReloadMillis = System.currentTimeMillis();
+    }
+
+    // A key retired at T may have signed tokens up to T, so keep it until T plus the longest token lifetime
+    private void pruneRetired() {
+        long retention = Math.max(jwtExpiration, refreshExpiration);
+        long now = System.currentTimeMillis();
+        List<SigningKey> ordered = new ArrayList<>(keys.values());
+        ordered.sort(Comparator.comparingLong(SigningKey::getCreatedAt));
+        for (int i = 0; i + 1 < ordered.size(); i++) {
+            if (ordered.get(i + 1).getCreatedAt() + retention < now) {
+                redisTemplate.opsForHash().delete(KEYS_HASH, ordered.get(i).getKid());
+                vault.delete(ordered.get(i).getKid());
+            }
+        }
+    }
+
+    private SigningKey generate() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"), random);
+            KeyPair pair = generator.generateKeyPair();
+            byte[] kidBytes = new byte[12];
+            random.nextBytes(kidBytes);
+            String kid = Base64.getUrlEncoder().withoutPadding().encodeToString(kidBytes);
+            return new SigningKey(kid, System.currentTimeMillis(), pair.getPrivate(), (ECPublicKey) pair.getPublic());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not generate ES256 key", e);
+        }
+    }
+
+    // createdAt:x509, public key base64
+    private static String encode(SigningKey key) {
+        return key.getCreatedAt() + ":" + Base64.getEncoder().encodeToString(key.getPublicKey().getEncoded());
+    }
+
+    private SigningKey decode(String kid, String value) {
+        String[] parts = value.split(":");
+        try {
+            KeyFactory factory = KeyFactory.getInstance("EC");
+            Base64.Decoder decoder = Base64.getDecoder();
+            if (parts.length == 3) {
+                // Older entries carried the private key too: move it to the vault and strip it from Redis
+                PrivateKey privateKey = factory.generatePrivate(new PKCS8EncodedKeySpec(decoder.decode(parts[1])));
+                ECPublicKey publicKey = (ECPublicKey) factory.generatePublic(new X509EncodedKeySpec(decoder.decode(parts[2])));
+                SigningKey key = new SigningKey(kid, Long.parseLong(parts[0]), privateKey, publicKey);
+                vault.store(kid, privateKey);
+                redisTemplate.opsForHash().put(KEYS_HASH, kid, encode(key));
+                log.info("Moved JWT private key {} out of Redis", kid);
+                return key;
+            }
+            ECPublicKey publicKey = (ECPublicKey) factory.generatePublic(new X509EncodedKeySpec(decoder.decode(parts[1])));
+            return new SigningKey(kid, Long.parseLong(parts[0]), vault.load(kid), publicKey);
+        } catch (GeneralSecurityException | RuntimeException e) {
+            throw new IllegalStateException("Stored JWT key " + kid + " is unreadable", e);
+        }
+    }
+
+    public static class SigningKey {
+        private final String kid;
+        private final long createdAt;
+        private final PrivateKey privateKey;
+        private final ECPublicKey publicKey;
+
+        public SigningKey(String kid, long createdAt, PrivateKey privateKey, ECPublicKey publicKey) {
+            this.kid = kid;
+            this.createdAt = createdAt;
+            this.privateKey = privateKey;
+            this.publicKey = publicKey;
+        }
+
+        public String getKid() {
+            return kid;
+        }
+
+        public long getCreatedAt() {
+            return createdAt;
+        }
+
+        public PrivateKey getPrivateKey() {
+            return privateKey;
+        }
+
+        public ECPublicKey getPublicKey() {
+            return publicKey;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.careermate.auth.security;
+
+import com.careermate.auth.repository.UserRepository;
+import com.careermate.auth.service.UserCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of which users' access tokens must no longer be accepted. Disabled
+ * users reject every token; users whose email or role changed reject tokens issued
+ * before the change, since those carry stale claims.
+ *
+ * Every change is applied locally at once and, after the surrounding transaction
+ * commits, sent to the other instances on the {@link UserCache#USER_CHANGED_CHANNEL}
+ * channel as {@code revocation:<cutoff>:<email>}, so a demoted or deleted user loses
+ * access everywhere and not only on the instance that handled the request.
+ */
+@Component
+public class UserRevocationRegistry {
+
+    public static final String MESSAGE_PREFIX = "revocation:";
+
+    private static final long DISABLED = Long.MAX_VALUE;
+    private static final long ENABLED = -1;
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final UserRepository userRepository;
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${jwt.expiration}")
+    private long jwtExpiration;
+
+    // email -> tokens issued before this instant (epoch ms) are rejected
+    private final Map<String, Long> revokedBefore = new ConcurrentHashMap<>();
+
+    public UserRevocationRegistry(UserRepository userRepository,
+                                  StringRedisTemplate redisTemplate,
+                                  RedisMessageListenerContainer listenerContainer) {
+        this.userRepository = userRepository;
+        this.redisTemplate = redisTemplate;
+
+        listenerContainer.addMessageListener((message, pattern) ->
+                        onMessage(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(UserCache.USER_CHANGED_CHANNEL));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadDisabledUsers() {
+        for (String email : userRepository.findInactiveEmails()) {
+            revokedBefore.put(email, DISABLED);
+        }
+    }
+
+    public boolean isRevoked(String email, Date issuedAt) {
+        Long cutoff = revokedBefore.get(email);
+        if (cutoff == null) {
+            return false;
+        }
+        return cutoff == DISABLED || issuedAt == null || issuedAt.getTime() < cutoff;
+    }
+
+    public void disable(String email) {
+        apply(email, DISABLED);
+        publish(email, DISABLED);
+    }
+
+    public void enable(String email) {
+        apply(email, ENABLED);
+        publish(email, ENABLED);
+    }
+
+    public void revokeIssuedBefore(String email, long epochMillis) {
+        // JWT iat has second precision, so round down to keep tokens issued right after the change valid
+        long cutoff = epochMillis - epochMillis % 1000;
+        apply(email, cutoff);
+        publish(email, cutoff);
+    }
+
+    private void apply(String email, long cutoff) {
+        if (cutoff == ENABLED) {
+            revokedBefore.remove(email);
+        } else if (cutoff == DISABLED) {
+            revokedBefore.put(email, DISABLED);
+        } else {
+            revokedBefore.merge(email, cutoff, Math::max);
+            if (revokedBefore.size() > PRUNE_THRESHOLD) {
+                prune(System.currentTimeMillis());
+            }
+        }
+    }
+
+    // Sent after commit, so a rolled back change never reaches the other instances
+    private void publish(String email, long cutoff) {
+        String message = MESSAGE_PREFIX + cutoff + ":" + email;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    redisTemplate.convertAndSend(UserCache.USER_CHANGED_CHANNEL, message);
+                }
+            });
+        } else {
+            redisTemplate.convertAndSend(UserCache.USER_CHANGED_CHANNEL, message);
+        }
+    }
+
+    // Message is "revocation:cutoff:email"; the cutoff is numeric, so the next colon ends it
+    private void onMessage(String message) {
+        if (!message.startsWith(MESSAGE_PREFIX)) {
+            return;
+        }
+        int colon = message.indexOf(':', MESSAGE_PREFIX.length());
+        if (colon < 0) {
+            return;
+        }
+        apply(message.substring(colon + 1), Long.parseLong(message.substring(MESSAGE_PREFIX.length(), colon)));
+    }
+
+    // Cutoffs older than the token lifetime cannot match any token that is still valid
+    private void prune(long now) {
+        revokedBefore.values().removeIf(cutoff -> cutoff != DISABLED && cutoff < now - jwtExpiration);
+    }
+}
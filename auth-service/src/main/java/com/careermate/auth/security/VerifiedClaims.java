@@ -0,0 +1,66 @@
+package com.careermate.auth.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+/**
+ * The claims this service reads from an access token, extracted once at verification.
+ */
+public class VerifiedClaims {
+
+    private final String subject;
+    private final String role;
+    private final Long userId;
+    private final String tokenId;
+    private final Date issuedAt;
+    private final Date expiresAt;
+
+    public VerifiedClaims(String subject, String role, Long userId, String tokenId, Date issuedAt, Date expiresAt) {
+        this.subject = subject;
+        this.role = role;
+        this.userId = userId;
+        this.tokenId = tokenId;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public static VerifiedClaims from(Claims claims) {
+        Number uid = claims.get("uid", Number.class);
+        return new VerifiedClaims(
+                claims.getSubject(),
+                claims.get("role", String.class),
+                uid != null ? uid.longValue() : null,
+                claims.getId(),
+                claims.getIssuedAt(),
+                claims.getExpiration());
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public Date getIssuedAt() {
+        return issuedAt;
+    }
+
+    public Date getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return expiresAt != null && expiresAt.getTime() <= nowMillis;
+    }
+}
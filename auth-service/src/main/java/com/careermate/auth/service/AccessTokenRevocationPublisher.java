@@ -0,0 +1,40 @@
+package com.careermate.auth.service;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+
+/**
+ * Publishes revoked access-token ids for the gateway. Each jti goes into a sorted set
+ * scored by token expiry, which is the exact record the gateway checks and seeds from
+ * on startup, and onto a pub/sub channel so running gateways can add it to their Bloom
+ * filter straight away.
+ */
+@Component
+public class AccessTokenRevocationPublisher {
+
+    public static final String REVOKED_SET = "auth:revoked-access-tokens";
+    public static final String REVOKED_CHANNEL = "auth:revoked-access-tokens";
+
+    private final StringRedisTemplate redisTemplate;
+
+    public AccessTokenRevocationPublisher(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    public void revoke(String tokenId, Date expiresAt) {
+        if (tokenId == null || expiresAt == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long expiry = expiresAt.getTime();
+        if (expiry <= now) {
+            return;
+        }
+        redisTemplate.opsForZSet().add(REVOKED_SET, tokenId, expiry);
+        // Tokens past their expiry are rejected anyway, so their entries can go
+        redisTemplate.opsForZSet().removeRangeByScore(REVOKED_SET, Double.NEGATIVE_INFINITY, now);
+        redisTemplate.convertAndSend(REVOKED_CHANNEL, tokenId + ":" + expiry);
+    }
+}
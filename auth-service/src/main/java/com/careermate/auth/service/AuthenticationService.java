@@ -2,11 +2,15 @@ package com.careermate.auth.service;
 
 import com.careermate.auth.dto.*;
 import com.careermate.auth.entity.RefreshToken;
+import com.careermate.auth.entity.Role;
 import com.careermate.auth.entity.User;
 import com.careermate.auth.repository.RefreshTokenRepository;
 import com.careermate.auth.repository.UserRepository;
 import com.careermate.auth.security.JwtTokenProvider;
+import com.careermate.auth.security.LoginThrottle;
+import com.careermate.auth.security.UserRevocationRegistry;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -14,7 +18,9 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Date;
 
 @Service
 public class AuthenticationService {
@@ -24,6 +30,12 @@ public class AuthenticationService {
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider tokenProvider;
     private final AuthenticationManager authenticationManager;
+    private final UserRevocationRegistry revocationRegistry;
+    private final RefreshTokenStore refreshTokenStore;
+    private final AccessTokenRevocationPublisher accessTokenRevocations;
+    private final LoginThrottle loginThrottle;
+    private final UserCache userCache;
+    private final RegisteredEmailFilter registeredEmails;
 
     @Value("${jwt.expiration}")
     private long jwtExpiration;
@@ -31,21 +43,36 @@ public class AuthenticationService {
     @Value("${jwt.refresh-expiration}")
     private long refreshExpiration;
 
+    @Value("${auth.refresh-tokens.legacy-fallback:true}")
+    private boolean legacyRefreshTokens;
+
     public AuthenticationService(UserRepository userRepository, 
                                 RefreshTokenRepository refreshTokenRepository,
                                 PasswordEncoder passwordEncoder,
                                 JwtTokenProvider tokenProvider,
-                                AuthenticationManager authenticationManager) {
+                                AuthenticationManager authenticationManager,
+                                UserRevocationRegistry revocationRegistry,
+                                RefreshTokenStore refreshTokenStore,
+                                AccessTokenRevocationPublisher accessTokenRevocations,
+                                LoginThrottle loginThrottle,
+                                UserCache userCache,
+                                RegisteredEmailFilter registeredEmails) {
         this.userRepository = userRepository;
         this.refreshTokenRepository = refreshTokenRepository;
         this.passwordEncoder = passwordEncoder;
         this.tokenProvider = tokenProvider;
         this.authenticationManager = authenticationManager;
+        this.revocationRegistry = revocationRegistry;
+        this.refreshTokenStore = refreshTokenStore;
+        this.accessTokenRevocations = accessTokenRevocations;
+        this.loginThrottle = loginThrottle;
+        this.userCache = userCache;
+        this.registeredEmails = registeredEmails;
     }
 
     @Transactional
     public UserResponse register(RegisterRequest request) {
-        if (userRepository.existsByEmail(request.getEmail())) {
+        if (registeredEmails.existsByEmail(request.getEmail())) {
             throw new RuntimeException("Email already exists");
         }
 
@@ -56,7 +83,16 @@ public class AuthenticationService {
                 .isActive(true)
                 .build();
 
-        user = userRepository.save(user);
+        try {
+            user = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance registered the email before its filter update reached us
+            throw new RuntimeException("Email already exists");
+        }
+        // The email may have belonged to a deleted account
+        revocationRegistry.enable(user.getEmail());
+        registeredEmails.add(user.getEmail());
+        userCache.userChanged(user.getId(), user.getEmail());
 
         return UserResponse.builder()
                 .id(user.getId())
@@ -69,6 +105,7 @@ public class AuthenticationService {
 
     @Transactional
     public TokenResponse login(LoginRequest request) {
+        loginThrottle.acquire(request.getEmail());
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
         );
@@ -76,16 +113,10 @@ public class AuthenticationService {
         String accessToken = tokenProvider.generateAccessToken(authentication);
         String refreshToken = tokenProvider.generateRefreshToken(request.getEmail());
 
-        User user = userRepository.findByEmail(request.getEmail())
+        User user = userCache.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        // Save refresh token
-        RefreshToken refreshTokenEntity = RefreshToken.builder()
-                .token(refreshToken)
-                .user(user)
-                .expiryDate(LocalDateTime.now().plusSeconds(refreshExpiration / 1000))
-                .build();
-        refreshTokenRepository.save(refreshTokenEntity);
+        refreshTokenStore.issue(refreshToken, user.getId());
 
         return TokenResponse.builder()
                 .accessToken(accessToken)
@@ -98,15 +129,26 @@ public class AuthenticationService {
 
     @Transactional
     public TokenResponse refreshToken(String refreshToken) {
-        RefreshToken token = refreshTokenRepository.findByToken(refreshToken)
+        RefreshTokenStore.StoredToken stored = refreshTokenStore.find(refreshToken)
+                .orElseGet(() -> migrateLegacyToken(refreshToken));
+
+        User user = userCache.findById(stored.getUserId())
                 .orElseThrow(() -> new RuntimeException("Invalid refresh token"));
+        if (!Boolean.TRUE.equals(user.getIsActive())) {
+            throw new RuntimeException("User account is disabled");
+        }
 
-        if (token.isExpired()) {
-            refreshTokenRepository.delete(token);
-            throw new RuntimeException("Refresh token expired");
+        // Each refresh token is single use: the next one replaces it within the same family
+        String newRefreshToken = tokenProvider.generateRefreshToken(user.getEmail());
+        switch (refreshTokenStore.rotate(stored, refreshToken, newRefreshToken)) {
+            case REUSED:
+                throw new RuntimeException("Refresh token reuse detected, session revoked");
+            case REVOKED:
+                throw new RuntimeException("Invalid refresh token");
+            default:
+                break;
         }
 
-        User user = token.getUser();
         Authentication authentication = new UsernamePasswordAuthenticationToken(
                 user, null, user.getAuthorities()
         );
@@ -115,28 +157,40 @@ public class AuthenticationService {
 
         return TokenResponse.builder()
                 .accessToken(newAccessToken)
-                .refreshToken(refreshToken)
+                .refreshToken(newRefreshToken)
                 .expiresIn(jwtExpiration / 1000)
                 .build();
     }
 
+    // Tokens issued before the Redis store still live in refresh_tokens; move them over on first use
+    private RefreshTokenStore.StoredToken migrateLegacyToken(String refreshToken) {
+        if (!legacyRefreshTokens) {
+            throw new RuntimeException("Invalid refresh token");
+        }
+        RefreshToken token = refreshTokenRepository.findByToken(refreshToken)
+                .orElseThrow(() -> new RuntimeException("Invalid refresh token"));
+        refreshTokenRepository.delete(token);
+        if (token.isExpired()) {
+            throw new RuntimeException("Refresh token expired");
+        }
+
+        Duration remaining = Duration.between(LocalDateTime.now(), token.getExpiryDate());
+        return refreshTokenStore.issue(refreshToken, token.getUser().getId(), remaining);
+    }
+
     @Transactional
-    public void logout(String email) {
-        User user = userRepository.findByEmail(email)
+    public void logout(String email, String accessTokenId, Date accessTokenExpiresAt) {
+        User user = userCache.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        refreshTokenRepository.deleteByUser(user);
+        revokeRefreshTokens(user);
+        accessTokenRevocations.revoke(accessTokenId, accessTokenExpiresAt);
     }
 
-    public java.util.List<UserResponse> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(user -> UserResponse.builder()
-                        .id(user.getId())
-                        .email(user.getEmail())
-                        .role(user.getRole())
-                        .isActive(user.getIsActive())
-                        .createdAt(user.getCreatedAt())
-                        .build())
-                .collect(java.util.stream.Collectors.toList());
+    private void revokeRefreshTokens(User user) {
+        refreshTokenStore.revokeAllForUser(user.getId());
+        if (legacyRefreshTokens) {
+            refreshTokenRepository.deleteByUser(user);
+        }
     }
 
     @Transactional
@@ -145,12 +199,17 @@ public class AuthenticationService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
         user.setIsActive(false);
         userRepository.save(user);
+        revocationRegistry.disable(user.getEmail());
+        userCache.userChanged(user.getId(), user.getEmail());
     }
 
     @Transactional
     public UserResponse updateUser(Long userId, UpdateUserRequest request) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
+        String previousEmail = user.getEmail();
+        Role previousRole = user.getRole();
+        boolean wasActive = Boolean.TRUE.equals(user.getIsActive());
         
         if (request.getEmail() != null) {
             user.setEmail(request.getEmail());
@@ -163,6 +222,26 @@ public class AuthenticationService {
         }
         
         user = userRepository.save(user);
+
+        // Tokens carry email and role as claims, so any change makes earlier tokens stale
+        long now = System.currentTimeMillis();
+        boolean emailChanged = !previousEmail.equals(user.getEmail());
+        if (emailChanged) {
+            revocationRegistry.disable(previousEmail);
+        }
+        if (!Boolean.TRUE.equals(user.getIsActive())) {
+            revocationRegistry.disable(user.getEmail());
+        } else if (!wasActive || emailChanged) {
+            revocationRegistry.enable(user.getEmail());
+            revocationRegistry.revokeIssuedBefore(user.getEmail(), now);
+        } else if (previousRole != user.getRole()) {
+            revocationRegistry.revokeIssuedBefore(user.getEmail(), now);
+        }
+        userCache.userChanged(user.getId(), previousEmail);
+        if (emailChanged) {
+            registeredEmails.add(user.getEmail());
+            userCache.userChanged(user.getId(), user.getEmail());
+        }
         
         return UserResponse.builder()
                 .id(user.getId())
@@ -177,7 +256,9 @@ public class AuthenticationService {
     public void deleteUser(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        refreshTokenRepository.deleteByUser(user);
+        revokeRefreshTokens(user);
         userRepository.delete(user);
+        revocationRegistry.disable(user.getEmail());
+        userCache.userChanged(user.getId(), user.getEmail());
     }
 }
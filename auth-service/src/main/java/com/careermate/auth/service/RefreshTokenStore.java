@@ -0,0 +1,146 @@
+package com.careermate.auth.service;
+
+import com.careermate.auth.security.TokenHashes;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Refresh tokens in Redis, keyed by the SHA-256 of the token so a leaked keyspace does
+ * not leak usable tokens. Expiry is left to Redis TTLs.
+ *
+ * Every login starts a token family. The family key holds the hash of the one token
+ * that may still be used; refreshing swaps it for the next token, so presenting any
+ * older token of the family is detected as reuse with a single GET and the family is
+ * revoked by deleting that key. A per-user set of family ids lets logout revoke all of
+ * a user's sessions without scanning.
+ */
+@Component
+public class RefreshTokenStore {
+
+    private static final String TOKEN_PREFIX = "auth:rt:";
+    private static final String FAMILY_PREFIX = "auth:rtf:";
+    private static final String USER_PREFIX = "auth:rt:user:";
+
+    // KEYS: family, next token. ARGV: presented hash, next hash, next token value, ttl ms.
+    // Returns 1 when rotated, 0 when the family is gone, -1 when an already rotated token was replayed.
+    private static final RedisScript<Long> ROTATE_SCRIPT = new DefaultRedisScript<>(
+            "local current = redis.call('GET', KEYS[1]) " +
+            "if not current then return 0 end " +
+            "if current ~= ARGV[1] then redis.call('DEL', KEYS[1]) return -1 end " +
+            "redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[4]) " +
+            "redis.call('SET', KEYS[2], ARGV[3], 'PX', ARGV[4]) " +
+            "return 1",
+            Long.class);
+
+    public enum Rotation { ROTATED, REVOKED, REUSED }
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${jwt.refresh-expiration}")
+    private long refreshExpiration;
+
+    public RefreshTokenStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * Starts a new family whose current token is {@code token}.
+     */
+    public StoredToken issue(String token, Long userId) {
+        return issue(token, userId, Duration.ofMillis(refreshExpiration));
+    }
+
+    public StoredToken issue(String token, Long userId, Duration ttl) {
+        String hash = TokenHashes.sha256(token);
+        String familyId = UUID.randomUUID().toString();
+        String userKey = USER_PREFIX + userId;
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                ops.opsForValue().set(TOKEN_PREFIX + hash, familyId + ":" + userId, ttl);
+                ops.opsForValue().set(FAMILY_PREFIX + familyId, hash, ttl);
+                ops.opsForSet().add(userKey, familyId);
+                ops.expire(userKey, Duration.ofMillis(Math.max(ttl.toMillis(), refreshExpiration)));
+                return null;
+            }
+        });
+        return new StoredToken(familyId, userId);
+    }
+
+    public Optional<StoredToken> find(String token) {
+        String value = redisTemplate.opsForValue().get(TOKEN_PREFIX + TokenHashes.sha256(token));
+        if (value == null) {
+            return Optional.empty();
+        }
+        int separator = value.lastIndexOf(':');
+        return Optional.of(new StoredToken(value.substring(0, separator), Long.valueOf(value.substring(separator + 1))));
+    }
+
+    /**
+     * Atomically replaces {@code presented} with {@code next} as the family's current token.
+     * Replaying a token that was already rotated revokes the whole family.
+     */
+    public Rotation rotate(StoredToken stored, String presented, String next) {
+        String nextHash = TokenHashes.sha256(next);
+        Long result = redisTemplate.execute(ROTATE_SCRIPT,
+                List.of(FAMILY_PREFIX + stored.getFamilyId(), TOKEN_PREFIX + nextHash),
+                TokenHashes.sha256(presented),
+                nextHash,
+                stored.getFamilyId() + ":" + stored.getUserId(),
+                String.valueOf(refreshExpiration));
+        if (result == null || result == 0) {
+            return Rotation.REVOKED;
+        }
+        if (result < 0) {
+            return Rotation.REUSED;
+        }
+        redisTemplate.expire(USER_PREFIX + stored.getUserId(), Duration.ofMillis(refreshExpiration));
+        return Rotation.ROTATED;
+    }
+
+    public void revokeAllForUser(Long userId) {
+        String userKey = USER_PREFIX + userId;
+        Set<String> familyIds = redisTemplate.opsForSet().members(userKey);
+        List<String> keys = new ArrayList<>();
+        keys.add(userKey);
+        if (familyIds != null) {
+            for (String familyId : familyIds) {
+                keys.add(FAMILY_PREFIX + familyId);
+            }
+        }
+        // Token keys are left to expire; without their family they can no longer be used
+        redisTemplate.delete(keys);
+    }
+
+    public static class StoredToken {
+        private final String familyId;
+        private final Long userId;
+
+        public StoredToken(String familyId, Long userId) {
+            this.familyId = familyId;
+            this.userId = userId;
+        }
+
+        public String getFamilyId() {
+            return familyId;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.careermate.auth.service;
+
+import com.careermate.auth.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Drains expired rows from the legacy refresh_tokens table in small batches. New tokens
+ * live in {@link RefreshTokenStore}; live legacy rows move there on their next refresh.
+ */
+@Component
+public class RefreshTokenSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenSweeper.class);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${auth.refresh-tokens.sweep-batch-size:1000}")
+    private int batchSize;
+
+    public RefreshTokenSweeper(RefreshTokenRepository refreshTokenRepository) {
+        this.refreshTokenRepository = refreshTokenRepository;
+    }
+
+    @Scheduled(fixedDelayString = "${auth.refresh-tokens.sweep-interval-ms:600000}")
+    public void sweepExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = refreshTokenRepository.deleteExpiredBatch(now, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+        if (total > 0) {
+            log.info("Removed {} expired legacy refresh tokens", total);
+        }
+    }
+}
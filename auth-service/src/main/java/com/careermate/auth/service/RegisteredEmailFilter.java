@@ -0,0 +1,194 @@
+package com.careermate.auth.service;
+
+import com.careermate.auth.repository.UserRepository;
+import com.careermate.auth.security.UserRevocationRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over every registered email, so registration can skip the
+ * {@code existsByEmail} query for the common case of an address that was never used.
+ * A hit still goes to the database. Emails of deleted users stay in the filter until
+ * the next rebuild, which only costs an extra query.
+ */
+@Component
+public class RegisteredEmailFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RegisteredEmailFilter.class);
+
+    private static final int LOAD_PAGE_SIZE = 10_000;
+
+    private final UserRepository userRepository;
+    private final long expectedEmails;
+    private final double falsePositiveRate;
+    private final Counter skippedQueries;
+
+    // Null until the first load completes; every email is a possible match until then
+    private volatile Filter filter;
+    // Set while a rebuild is running so registrations during it are not lost
+    private volatile Filter building;
+
+    public RegisteredEmailFilter(UserRepository userRepository,
+                                 RedisMessageListenerContainer listenerContainer,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${auth.users.email-filter.expected-emails:1000000}") long expectedEmails,
+                                 @Value("${auth.users.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.expectedEmails = expectedEmails;
+        this.falsePositiveRate = falsePositiveRate;
+        this.skippedQueries = Counter.builder("auth.user.email-filter.skipped")
+                .description("Email existence checks answered by the Bloom filter without a query")
+                .register(meterRegistry);
+
+        // Other instances publish every registration and email change on the user channel
+        listenerContainer.addMessageListener((message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            int colon = body.indexOf(':');
+            if (colon >= 0 && !body.startsWith(UserRevocationRegistry.MESSAGE_PREFIX)) {
+                add(body.substring(colon + 1));
+            }
+        }, new ChannelTopic(UserCache.USER_CHANGED_CHANNEL));
+    }
+
+    public boolean existsByEmail(String email) {
+        Filter current = filter;
+        if (current != null && !current.mightContain(email)) {
+            skippedQueries.increment();
+            return false;
+        }
+        return userRepository.existsByEmail(email);
+    }
+
+    public void add(String email) {
+        if (email == null) {
+            return;
+        }
+        Filter current = filter;
+        if (current != null) {
+            current.add(email);
+        }
+        Filter next = building;
+        if (next != null) {
+            next.add(email);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    // Rebuilt periodically to drop deleted emails and to resize as the user table grows
+    @Scheduled(initialDelayString = "${auth.users.email-filter.rebuild-interval-ms:86400000}",
+               fixedDelayString = "${auth.users.email-filter.rebuild-interval-ms:86400000}")
+    public synchronized void rebuild() {
+        long expected = Math.max(expectedEmails, userRepository.count() * 2);
+        Filter next = new Filter(expected, falsePositiveRate);
+        building = next;
+        try {
+            long afterId = 0L;
+            int loaded = 0;
+            while (true) {
+                List<Object[]> page = userRepository.findEmailsAfter(afterId, PageRequest.of(0, LOAD_PAGE_SIZE));
+                for (Object[] row : page) {
+                    next.add((String) row[1]);
+                }
+                loaded += page.size();
+                if (page.size() < LOAD_PAGE_SIZE) {
+                    break;
+                }
+                afterId = (Long) page.get(page.size() - 1)[0];
+            }
+            filter = next;
+            log.info("Loaded {} registered emails into the email filter", loaded);
+        } finally {
+            building = null;
+        }
+    }
+
+    private static final class Filter {
+        final int bits;
+        final int hashCount;
+        final AtomicLongArray words;
+
+        Filter(long expected, double falsePositiveRate) {
+            double ln2 = Math.log(2);
+            long size = (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (ln2 * ln2));
+            this.bits = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, size));
+            this.hashCount = Math.max(1, (int) Math.round((double) bits / expected * ln2));
+            this.words = new AtomicLongArray((bits + 63) >>> 6);
+        }
+
+        void add(String value) {
+            long h1 = hash1(value);
+            long h2 = hash2(value);
+            for (int i = 0; i < hashCount; i++) {
+                int bit = index(h1, h2, i);
+                int word = bit >>> 6;
+                long mask = 1L << (bit & 63);
+                long current;
+                do {
+                    current = words.get(word);
+                    if ((current & mask) != 0) {
+                        break;
+                    }
+                } while (!words.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        boolean mightContain(String value) {
+            long h1 = hash1(value);
+            long h2 = hash2(value);
+            for (int i = 0; i < hashCount; i++) {
+                int bit = index(h1, h2, i);
+                if ((words.get(bit >>> 6) & (1L << (bit & 63))) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int index(long h1, long h2, int i) {
+            return (int) Math.floorMod(h1 + i * h2, (long) bits);
+        }
+
+        private static long hash1(String value) {
+            // FNV-1a over the UTF-8 bytes, finished with a 64-bit mix
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b & 0xff;
+                hash *= 0x100000001b3L;
+            }
+            return mix(hash);
+        }
+
+        private static long hash2(String value) {
+            long hash = 0x9e3779b97f4a7c15L;
+            for (int i = 0; i < value.length(); i++) {
+                hash = hash * 31 + value.charAt(i);
+            }
+            // Odd so successive probes never collapse onto the same bit
+            return mix(hash) | 1L;
+        }
+
+        private static long mix(long z) {
+            z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+            z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+            return z ^ (z >>> 33);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.careermate.auth.service;
+
+import com.careermate.auth.entity.User;
+import com.careermate.auth.repository.UserRepository;
+import com.careermate.auth.security.UserRevocationRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-process cache of user records for the login, refresh and logout paths,
+ * keyed by email with a secondary index by id. Entries are evicted locally when a user
+ * changes and on every other instance through the {@link #USER_CHANGED_CHANNEL} pub/sub
+ * channel; a short TTL bounds the damage of a missed message.
+ *
+ * Callers get a detached copy, so the cached record is never mutated or saved. Writes
+ * must keep going through {@link UserRepository}.
+ */
+@Component
+public class UserCache {
+
+    public static final String USER_CHANGED_CHANNEL = "auth:user-changed";
+
+    private final UserRepository userRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final int maxSize;
+    private final long ttlMs;
+    private final Counter hits;
+    private final Counter misses;
+
+    // Access ordered, so the least recently used user is evicted first
+    private final Map<String, CachedUser> byEmail;
+    private final Map<Long, String> emailById = new HashMap<>();
+
+    // Bumped on every eviction; a load that raced with one is not cached
+    private long generation;
+
+    public UserCache(UserRepository userRepository,
+                     StringRedisTemplate redisTemplate,
+                     RedisMessageListenerContainer listenerContainer,
+                     MeterRegistry meterRegistry,
+                     @Value("${auth.users.cache.max-size:10000}") int maxSize,
+                     @Value("${auth.users.cache.ttl-ms:300000}") long ttlMs) {
+        this.userRepository = userRepository;
+        this.redisTemplate = redisTemplate;
+        this.maxSize = maxSize;
+        this.ttlMs = ttlMs;
+        this.byEmail = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedUser> eldest) {
+                if (size() > UserCache.this.maxSize) {
+                    emailById.remove(eldest.getValue().user.getId());
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        this.hits = Counter.builder("auth.user.cache.requests")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("auth.user.cache.requests")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("auth.user.cache.hit.ratio", this, UserCache::hitRatio)
+                .description("Share of user lookups served from the in-process cache")
+                .register(meterRegistry);
+        Gauge.builder("auth.user.cache.size", this, UserCache::size)
+                .register(meterRegistry);
+
+        listenerContainer.addMessageListener((message, pattern) ->
+                        onUserChanged(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(USER_CHANGED_CHANNEL));
+    }
+
+    public Optional<User> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        synchronized (this) {
+            CachedUser cached = byEmail.get(email);
+            if (cached != null && !cached.isExpired(ttlMs)) {
+                hits.increment();
+                return Optional.of(copyOf(cached.user));
+            }
+        }
+        misses.increment();
+        return load(() -> userRepository.findByEmail(email));
+    }
+
+    public Optional<User> findById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        synchronized (this) {
+            String email = emailById.get(id);
+            CachedUser cached = email != null ? byEmail.get(email) : null;
+            if (cached != null && !cached.isExpired(ttlMs)) {
+                hits.increment();
+                return Optional.of(copyOf(cached.user));
+            }
+        }
+        misses.increment();
+        return load(() -> userRepository.findById(id));
+    }
+
+    /**
+     * Drops the user on this instance now and again once the surrounding transaction
+     * commits, then tells the other instances to do the same. Call it for every email the
+     * user had or now has.
+     */
+    public void userChanged(Long id, String email) {
+        evict(id, email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // A reader may have reloaded the old row before the commit
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(id, email);
+                    publish(id, email);
+                }
+            });
+        } else {
+            publish(id, email);
+        }
+    }
+
+    private Optional<User> load(Supplier<Optional<User>> query) {
+        long loadGeneration;
+        synchronized (this) {
+            loadGeneration = generation;
+        }
+        Optional<User> user = query.get();
+        // Unknown emails are not cached so a user can log in right after registering
+        if (user.isPresent()) {
+            User loaded = user.get();
+            synchronized (this) {
+                if (generation == loadGeneration) {
+                    String previous = emailById.put(loaded.getId(), loaded.getEmail());
+                    if (previous != null && !previous.equals(loaded.getEmail())) {
+                        byEmail.remove(previous);
+                    }
+                    byEmail.put(loaded.getEmail(), new CachedUser(copyOf(loaded)));
+                }
+            }
+        }
+        return user;
+    }
+
+    private synchronized void evict(Long id, String email) {
+        generation++;
+        if (email != null) {
+            CachedUser removed = byEmail.remove(email);
+            if (removed != null) {
+                emailById.remove(removed.user.getId());
+            }
+        }
+        if (id != null) {
+            String cachedEmail = emailById.remove(id);
+            if (cachedEmail != null) {
+                byEmail.remove(cachedEmail);
+            }
+        }
+    }
+
+    private void publish(Long id, String email) {
+        redisTemplate.convertAndSend(USER_CHANGED_CHANNEL, (id != null ? id : "") + ":" + email);
+    }
+
+    // Message is "id:email"; the id is numeric, so the first colon separates the two
+    private void onUserChanged(String message) {
+        int colon = message.indexOf(':');
+        if (colon < 0 || message.startsWith(UserRevocationRegistry.MESSAGE_PREFIX)) {
+            return;
+        }
+        String id = message.substring(0, colon);
+        evict(id.isEmpty() ? null : Long.valueOf(id), message.substring(colon + 1));
+    }
+
+    private synchronized int size() {
+        return byEmail.size();
+    }
+
+    private double hitRatio() {
+        double hit = hits.count();
+        double total = hit + misses.count();
+        return total == 0 ? 0.0 : hit / total;
+    }
+
+    private static User copyOf(User user) {
+        return new User(user.getId(), user.getEmail(), user.getPasswordHash(), user.getRole(), user.getIsActive(),
+                user.getOauthProvider(), user.getOauthId(), user.getCreatedAt(), user.getUpdatedAt());
+    }
+
+    private static final class CachedUser {
+        final User user;
+        final long loadedAt = System.currentTimeMillis();
+
+        CachedUser(User user) {
+            this.user = user;
+        }
+
+        boolean isExpired(long ttlMs) {
+            return System.currentTimeMillis() - loadedAt > ttlMs;
+        }
+    }
+}
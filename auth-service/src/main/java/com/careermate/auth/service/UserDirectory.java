@@ -0,0 +1,138 @@
+package com.careermate.auth.service;
+
+import com.careermate.auth.dto.UserResponse;
+import com.careermate.auth.entity.Role;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Admin listing, search and export of users. Every read is a keyset page ordered by id,
+ * so neither a page nor an export holds more than one batch of rows, whatever the size
+ * of the users table.
+ */
+@Component
+public class UserDirectory {
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private static final int EXPORT_BATCH_SIZE = 1000;
+
+    private static final RowMapper<UserResponse> USER_ROW = (rs, rowNum) -> {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        return UserResponse.builder()
+                .id(rs.getLong("id"))
+                .email(rs.getString("email"))
+                .role(Role.valueOf(rs.getString("role")))
+                .isActive(rs.getBoolean("is_active"))
+                .createdAt(createdAt != null ? createdAt.toLocalDateTime() : null)
+                .build();
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public UserDirectory(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    // JPA cannot declare an operator class, so the prefix index is created here
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_user_email_prefix ON users (lower(email) text_pattern_ops)");
+    }
+
+    /**
+     * Returns up to {@code limit} users with an id greater than {@code afterId} that match
+     * every filter given. Pass the id of the last user returned to get the next page.
+     */
+    public List<UserResponse> search(long afterId, int limit, String emailPrefix, Role role, Boolean active) {
+        return page("id > ?", afterId, "id", limit, emailPrefix, role, active);
+    }
+
+    /**
+     * Newest-first variant of {@link #search}: users with an id below {@code beforeId}, or
+     * the newest users when it is null. Pass the id of the last user returned to go on.
+     */
+    public List<UserResponse> searchNewest(Long beforeId, int limit, String emailPrefix, Role role, Boolean active) {
+        return page("id < ?", beforeId != null ? beforeId : Long.MAX_VALUE, "id DESC", limit, emailPrefix, role, active);
+    }
+
+    /** Number of users in total, active, and per role, for the admin dashboard. */
+    public Map<String, Long> counts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("total", 0L);
+        counts.put("active", 0L);
+        for (Role role : Role.values()) {
+            counts.put(role.name(), 0L);
+        }
+        jdbcTemplate.query("SELECT role, is_active, COUNT(*) AS n FROM users GROUP BY role, is_active", rs -> {
+            long n = rs.getLong("n");
+            counts.merge("total", n, Long::sum);
+            counts.merge(rs.getString("role"), n, Long::sum);
+            if (rs.getBoolean("is_active")) {
+                counts.merge("active", n, Long::sum);
+            }
+        });
+        return counts;
+    }
+
+    private List<UserResponse> page(String cursorClause, long cursor, String order, int limit,
+                                    String emailPrefix, Role role, Boolean active) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT id, email, role, is_active, created_at FROM users WHERE " + cursorClause);
+        List<Object> args = new ArrayList<>();
+        args.add(cursor);
+        if (emailPrefix != null && !emailPrefix.isEmpty()) {
+            sql.append(" AND lower(email) LIKE ? ESCAPE '\\'");
+            args.add(escapeLike(emailPrefix.toLowerCase(Locale.ROOT)) + "%");
+        }
+        if (role != null) {
+            sql.append(" AND role = ?");
+            args.add(role.name());
+        }
+        if (active != null) {
+            sql.append(" AND is_active = ?");
+            args.add(active);
+        }
+        sql.append(" ORDER BY ").append(order).append(" LIMIT ?");
+        args.add(Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+        return jdbcTemplate.query(sql.toString(), USER_ROW, args.toArray());
+    }
+
+    /** Writes every matching user as one JSON object per line, one keyset batch at a time. */
+    public void export(String emailPrefix, Role role, Boolean active, OutputStream out) throws IOException {
+        long afterId = 0L;
+        while (true) {
+            List<UserResponse> batch = search(afterId, EXPORT_BATCH_SIZE, emailPrefix, role, active);
+            for (UserResponse user : batch) {
+                out.write(objectMapper.writeValueAsBytes(user));
+                out.write('\n');
+            }
+            out.flush();
+            if (batch.size() < EXPORT_BATCH_SIZE) {
+                return;
+            }
+            afterId = batch.get(batch.size() - 1).getId();
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,218 @@
+package com.careermate.auth.service;
+
+import com.careermate.auth.dto.BulkProvisionResult;
+import com.careermate.auth.dto.BulkProvisionResult.Status;
+import com.careermate.auth.dto.RegisterRequest;
+import com.careermate.auth.exception.TooManyRequestsException;
+import com.careermate.auth.security.UserRevocationRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Creates many accounts in one call. Existing emails are found with a single query,
+ * passwords are hashed a few at a time on the shared hashing pool so interactive logins
+ * keep most of it, and the rows go in as JDBC batches. Every input row gets a result.
+ */
+@Service
+public class UserProvisioningService {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO users (email, password_hash, role, is_active, created_at, updated_at) " +
+            "VALUES (?, ?, ?, true, ?, ?) ON CONFLICT (email) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final UserRevocationRegistry revocationRegistry;
+    private final RegisteredEmailFilter registeredEmails;
+    private final UserCache userCache;
+    private final ExecutorService hashDispatcher;
+    private final int maxUsers;
+    private final int batchSize;
+
+    public UserProvisioningService(JdbcTemplate jdbcTemplate,
+                                   PasswordEncoder passwordEncoder,
+                                   Validator validator,
+                                   UserRevocationRegistry revocationRegistry,
+                                   RegisteredEmailFilter registeredEmails,
+                                   UserCache userCache,
+                                   @Value("${auth.provisioning.hash-parallelism:0}") int hashParallelism,
+                                   @Value("${auth.provisioning.max-users:5000}") int maxUsers,
+                                   @Value("${auth.provisioning.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.revocationRegistry = revocationRegistry;
+        this.registeredEmails = registeredEmails;
+        this.userCache = userCache;
+        this.maxUsers = maxUsers;
+        this.batchSize = batchSize;
+
+        // Caps how many hashing-pool slots provisioning can hold at once; 0 = half the CPUs
+        int parallelism = hashParallelism > 0
+                ? hashParallelism
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadIds = new AtomicInteger();
+        this.hashDispatcher = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "bulk-provision-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public List<BulkProvisionResult> provision(List<RegisterRequest> users) {
+        if (users == null || users.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (users.size() > maxUsers) {
+            throw new IllegalArgumentException("At most " + maxUsers + " users can be provisioned per request");
+        }
+
+        BulkProvisionResult[] results = new BulkProvisionResult[users.size()];
+        List<Integer> candidates = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < users.size(); i++) {
+            RegisterRequest user = users.get(i);
+            String invalid = validate(user);
+            if (invalid != null) {
+                results[i] = result(i, user == null ? null : user.getEmail(), Status.INVALID, invalid);
+            } else if (!seen.add(user.getEmail())) {
+                results[i] = result(i, user.getEmail(), Status.DUPLICATE, "Email appears earlier in this request");
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        Set<String> existing = findExistingEmails(candidates.stream()
+                .map(i -> users.get(i).getEmail())
+                .collect(Collectors.toList()));
+        List<Integer> toCreate = new ArrayList<>();
+        for (int i : candidates) {
+            if (existing.contains(users.get(i).getEmail())) {
+                results[i] = result(i, users.get(i).getEmail(), Status.DUPLICATE, "Email already exists");
+            } else {
+                toCreate.add(i);
+            }
+        }
+
+        Map<Integer, String> hashes = hashAll(users, toCreate, results);
+        List<Integer> hashed = toCreate.stream().filter(hashes::containsKey).collect(Collectors.toList());
+        for (int from = 0; from < hashed.size(); from += batchSize) {
+            insertBatch(users, hashed.subList(from, Math.min(from + batchSize, hashed.size())), hashes, results);
+        }
+
+        List<BulkProvisionResult> ordered = new ArrayList<>(results.length);
+        for (BulkProvisionResult result : results) {
+            ordered.add(result);
+        }
+        return ordered;
+    }
+
+    private String validate(RegisterRequest user) {
+        if (user == null) {
+            return "Missing user";
+        }
+        Set<ConstraintViolation<RegisterRequest>> violations = validator.validate(user);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+    }
+
+    private Set<String> findExistingEmails(List<String> emails) {
+        if (emails.isEmpty()) {
+            return new HashSet<>();
+        }
+        List<String> found = jdbcTemplate.query("SELECT email FROM users WHERE email = ANY(?)",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("text", emails.toArray())),
+                (rs, rowNum) -> rs.getString(1));
+        return new HashSet<>(found);
+    }
+
+    private Map<Integer, String> hashAll(List<RegisterRequest> users, List<Integer> rows, BulkProvisionResult[] results) {
+        Map<Integer, CompletableFuture<String>> pending = new HashMap<>();
+        for (int i : rows) {
+            String password = users.get(i).getPassword();
+            pending.put(i, CompletableFuture.supplyAsync(() -> passwordEncoder.encode(password), hashDispatcher));
+        }
+
+        Map<Integer, String> hashes = new HashMap<>();
+        for (Map.Entry<Integer, CompletableFuture<String>> entry : pending.entrySet()) {
+            int i = entry.getKey();
+            try {
+                hashes.put(i, entry.getValue().join());
+            } catch (CompletionException e) {
+                // Usually the hashing pool shedding load; the caller can resubmit just these rows
+                String message = e.getCause() instanceof TooManyRequestsException
+                        ? "Password hashing is busy, retry this user"
+                        : "Password hashing failed";
+                results[i] = result(i, users.get(i).getEmail(), Status.FAILED, message);
+            }
+        }
+        return hashes;
+    }
+
+    private void insertBatch(List<RegisterRequest> users, List<Integer> rows, Map<Integer, String> hashes,
+                             BulkProvisionResult[] results) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (int i : rows) {
+            RegisterRequest user = users.get(i);
+            args.add(new Object[]{user.getEmail(), hashes.get(i), user.getRole().name(), now, now});
+        }
+        int[] counts = jdbcTemplate.batchUpdate(INSERT_SQL, args);
+
+        // Look the new ids up in one query rather than per row
+        List<String> emails = rows.stream().map(i -> users.get(i).getEmail()).collect(Collectors.toList());
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT id, email FROM users WHERE email = ANY(?)",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("text", emails.toArray())),
+                rs -> {
+                    ids.put(rs.getString("email"), rs.getLong("id"));
+                });
+
+        for (int r = 0; r < rows.size(); r++) {
+            int i = rows.get(r);
+            String email = users.get(i).getEmail();
+            if (counts[r] == 0) {
+                // Registered by someone else between the duplicate check and the insert
+                results[i] = result(i, email, Status.DUPLICATE, "Email already exists");
+                continue;
+            }
+            Long id = ids.get(email);
+            results[i] = new BulkProvisionResult(i, email, Status.CREATED, id, null);
+            revocationRegistry.enable(email);
+            registeredEmails.add(email);
+            userCache.userChanged(id, email);
+        }
+    }
+
+    private static BulkProvisionResult result(int index, String email, Status status, String message) {
+        return new BulkProvisionResult(index, email, status, null, message);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashDispatcher.shutdownNow();
+    }
+}
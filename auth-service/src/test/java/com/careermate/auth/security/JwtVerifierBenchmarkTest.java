@@ -0,0 +1,87 @@
+package com.careermate.auth.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.security.KeyPair;
+import java.security.interfaces.ECPublicKey;
+import java.util.Date;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares the cost of authenticating one request three ways: the old path, which built a
+ * parser on every call and parsed the token three times (validate, email, role); a parser
+ * built once and used for one parse; and {@link JwtVerifier}, which also caches verified
+ * claims by token digest. Run it with:
+ *
+ * <pre>mvn -pl auth-service test -Dtest=JwtVerifierBenchmarkTest -Dbenchmark=true</pre>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class JwtVerifierBenchmarkTest {
+
+    private static final String KID = "bench";
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 20_000);
+
+    @Test
+    void comparesPerCallParseCachedParserAndClaimsCache() {
+        KeyPair keys = Keys.keyPairFor(SignatureAlgorithm.ES256);
+        SigningKeyStore keyStore = mock(SigningKeyStore.class);
+        when(keyStore.publicKey(KID)).thenReturn((ECPublicKey) keys.getPublic());
+
+        String token = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, KID)
+                .setSubject("candidate@example.com")
+                .setId(UUID.randomUUID().toString())
+                .claim("role", "ROLE_CANDIDATE")
+                .claim("uid", 42L)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 3_600_000L))
+                .signWith(keys.getPrivate(), SignatureAlgorithm.ES256)
+                .compact();
+
+        JwtParser cachedParser = Jwts.parserBuilder().setSigningKey(keys.getPublic()).build();
+        JwtVerifier verifier = new JwtVerifier(keyStore, "", false, 50_000);
+
+        double perCall = nanosPerOp(t -> {
+            Function<String, Claims> parse = s -> Jwts.parserBuilder()
+                    .setSigningKey(keys.getPublic()).build().parseClaimsJws(s).getBody();
+            parse.apply(t);
+            parse.apply(t).getSubject();
+            return parse.apply(t).get("role", String.class);
+        }, token);
+        double cached = nanosPerOp(t -> cachedParser.parseClaimsJws(t).getBody().get("role", String.class), token);
+        double verified = nanosPerOp(t -> verifier.verify(t).getRole(), token);
+
+        System.out.printf("%-34s %12s%n", "path", "us/request");
+        System.out.printf("%-34s %12.1f%n", "per-call parser, 3 parses", perCall / 1_000);
+        System.out.printf("%-34s %12.1f%n", "cached parser, 1 parse", cached / 1_000);
+        System.out.printf("%-34s %12.1f%n", "JwtVerifier (claims cache hit)", verified / 1_000);
+
+        assertTrue(cached < perCall, "cached parser was not faster than per-call parsing");
+        assertTrue(verified < cached, "claims cache was not faster than a signature check");
+    }
+
+    private static double nanosPerOp(Function<String, String> op, String token) {
+        for (int i = 0; i < WARMUP; i++) {
+            assertEquals("ROLE_CANDIDATE", op.apply(token));
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            op.apply(token);
+        }
+        return (System.nanoTime() - start) / (double) ITERATIONS;
+    }
+}
@@ -0,0 +1,58 @@
+package com.careermate.auth.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures what a login costs at each BCrypt cost, so auth.hashing.bcrypt-strength can be
+ * chosen against the login latency budget. A login is one hash check, so the check is what
+ * gets timed. Run it on the hardware the service is deployed to:
+ *
+ * <pre>mvn -pl auth-service test -Dtest=PasswordHashCostBenchmarkTest -Dbenchmark=true</pre>
+ *
+ * Optional -Dbenchmark.fromCost, -Dbenchmark.toCost and -Dbenchmark.samples narrow the run.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PasswordHashCostBenchmarkTest {
+
+    private static final String SAMPLE_PASSWORD = "correct horse battery staple";
+
+    @Test
+    void printsCheckLatencyPerCost() {
+        int from = Integer.getInteger("benchmark.fromCost", 8);
+        int to = Integer.getInteger("benchmark.toCost", 14);
+        int samples = Math.max(1, Integer.getInteger("benchmark.samples", 10));
+
+        System.out.printf("%-6s %8s %10s %10s %10s%n", "cost", "samples", "p50 ms", "p99 ms", "max ms");
+        for (int cost = from; cost <= to; cost++) {
+            BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+            String hash = encoder.encode(SAMPLE_PASSWORD);
+            // One unmeasured check to warm up the JIT for this path
+            encoder.matches(SAMPLE_PASSWORD, hash);
+
+            long[] nanos = new long[samples];
+            for (int i = 0; i < samples; i++) {
+                long start = System.nanoTime();
+                assertTrue(encoder.matches(SAMPLE_PASSWORD, hash));
+                nanos[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(nanos);
+            System.out.printf("%-6d %8d %10.2f %10.2f %10.2f%n", cost, samples,
+                    millis(percentile(nanos, 0.50)), millis(percentile(nanos, 0.99)), millis(nanos[samples - 1]));
+        }
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
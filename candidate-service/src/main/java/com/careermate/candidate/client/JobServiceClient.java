@@ -0,0 +1,36 @@
+package com.careermate.candidate.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class JobServiceClient {
+
+    @Value("${job.service.url}")
+    private String jobServiceUrl;
+
+    private final RestTemplate restTemplate = new RestTemplate();
+
+    public List<Map<String, Object>> recommendJobs(String email, String skills, String experience, Integer limit) {
+        String url = jobServiceUrl + "/api/jobs/recommendations";
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("candidateEmail", email);
+        body.put("skills", skills);
+        body.put("experience", experience);
+        body.put("limit", limit);
+
+        ResponseEntity<List<Map<String, Object>>> response = restTemplate.exchange(
+                url, HttpMethod.POST, new HttpEntity<>(body), new ParameterizedTypeReference<List<Map<String, Object>>>() {});
+        return response.getBody();
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/candidates")
@@ -18,24 +19,61 @@ public class CandidateController {
     @Autowired
     private CandidateService candidateService;
 
+    // X-User-* headers are set by the gateway from the token and win over request values,
+    // which are only honoured for internal calls that carry no identity headers
     @GetMapping("/profile")
-    public ResponseEntity<ProfileResponse> getProfile(@RequestParam String email) {
-        return ResponseEntity.ok(candidateService.getProfile(email));
+    public ResponseEntity<ProfileResponse> getProfile(
+            @RequestParam(required = false) String email,
+            @RequestHeader(value = "X-User-Email", required = false) String headerEmail,
+            @RequestHeader(value = "X-User-Id", required = false) Long userId) {
+        return ResponseEntity.ok(candidateService.getProfile(userId, identityEmail(headerEmail, email)));
     }
 
     @PostMapping("/profile")
-    public ResponseEntity<ProfileResponse> createProfile(@RequestBody Profile profile) {
+    public ResponseEntity<ProfileResponse> createProfile(
+            @RequestBody Profile profile,
+            @RequestHeader(value = "X-User-Email", required = false) String headerEmail,
+            @RequestHeader(value = "X-User-Id", required = false) Long userId) {
+        if (userId != null) {
+            profile.setUserId(userId);
+        }
+        if (headerEmail != null && !headerEmail.isEmpty()) {
+            profile.setEmail(headerEmail);
+        }
         return ResponseEntity.ok(candidateService.createProfile(profile));
     }
 
     @PutMapping("/profile")
-    public ResponseEntity<ProfileResponse> updateProfile(@RequestParam String email, @RequestBody Profile profile) {
-        return ResponseEntity.ok(candidateService.updateProfile(email, profile));
+    public ResponseEntity<ProfileResponse> updateProfile(
+            @RequestParam(required = false) String email,
+            @RequestHeader(value = "X-User-Email", required = false) String headerEmail,
+            @RequestHeader(value = "X-User-Id", required = false) Long userId,
+            @RequestBody Profile profile) {
+        return ResponseEntity.ok(candidateService.updateProfile(userId, identityEmail(headerEmail, email), profile));
+    }
+
+    @GetMapping("/recommendations")
+    public ResponseEntity<List<Map<String, Object>>> getJobRecommendations(
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = "X-User-Email", required = false) String headerEmail,
+            @RequestHeader(value = "X-User-Id", required = false) Long userId) {
+        return ResponseEntity.ok(candidateService.getJobRecommendations(userId, identityEmail(headerEmail, email), limit));
     }
 
     @GetMapping("/badges")
-    public ResponseEntity<List<Badge>> getBadges(@RequestParam Long userId) {
-        return ResponseEntity.ok(candidateService.getBadges(userId));
+    public ResponseEntity<List<Badge>> getBadges(
+            @RequestParam(required = false) Long userId,
+            @RequestHeader(value = "X-User-Id", required = false) Long headerUserId) {
+        Long id = headerUserId != null ? headerUserId : userId;
+        if (id == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(candidateService.getBadges(id));
+    }
+
+    private static String identityEmail(String headerEmail, String email) {
+        return headerEmail != null && !headerEmail.isEmpty() ? headerEmail : email;
     }
 
     @PostMapping("/cv/upload")
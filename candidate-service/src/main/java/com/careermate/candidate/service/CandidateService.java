@@ -1,5 +1,6 @@
 package com.careermate.candidate.service;
 
+import com.careermate.candidate.client.JobServiceClient;
 import com.careermate.candidate.dto.ProfileResponse;
 import com.careermate.candidate.entity.Badge;
 import com.careermate.candidate.entity.Profile;
@@ -9,6 +10,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 public class CandidateService {
@@ -19,10 +22,11 @@ public class CandidateService {
     @Autowired
     private BadgeRepository badgeRepository;
 
-    public ProfileResponse getProfile(String email) {
-        Profile profile = profileRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Profile not found"));
-        return convertToResponse(profile);
+    @Autowired
+    private JobServiceClient jobServiceClient;
+
+    public ProfileResponse getProfile(Long userId, String email) {
+        return convertToResponse(findProfile(userId, email));
     }
 
     public ProfileResponse createProfile(Profile profile) {
@@ -30,9 +34,8 @@ public class CandidateService {
         return convertToResponse(saved);
     }
 
-    public ProfileResponse updateProfile(String email, Profile profileData) {
-        Profile profile = profileRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Profile not found"));
+    public ProfileResponse updateProfile(Long userId, String email, Profile profileData) {
+        Profile profile = findProfile(userId, email);
 
         if (profileData.getFullName() != null)
             profile.setFullName(profileData.getFullName());
@@ -51,6 +54,11 @@ public class CandidateService {
         return convertToResponse(saved);
     }
 
+    public List<Map<String, Object>> getJobRecommendations(Long userId, String email, Integer limit) {
+        Profile profile = findProfile(userId, email);
+        return jobServiceClient.recommendJobs(profile.getEmail(), profile.getSkills(), profile.getExperience(), limit);
+    }
+
     public List<Badge> getBadges(Long userId) {
         return badgeRepository.findByUserId(userId);
     }
@@ -64,6 +72,31 @@ public class CandidateService {
         return badgeRepository.save(badge);
     }
 
+    // Looks the profile up by the unique user id first, then by email
+    private Profile findProfile(Long userId, String email) {
+        if (userId != null) {
+            Optional<Profile> byId = profileRepository.findByUserId(userId);
+            if (byId.isPresent()) {
+                return byId.get();
+            }
+        }
+        if (email == null) {
+            throw new RuntimeException("Profile not found");
+        }
+        Profile profile = profileRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("Profile not found"));
+        if (userId != null && profile.getUserId() != null && !profile.getUserId().equals(userId)) {
+            // Bound to another user, so this email is not the caller's profile
+            throw new RuntimeException("Profile not found");
+        }
+        if (userId != null && profile.getUserId() == null) {
+            // Link profiles created without a user id so the next lookup goes by id
+            profile.setUserId(userId);
+            profile = profileRepository.save(profile);
+        }
+        return profile;
+    }
+
     private ProfileResponse convertToResponse(Profile profile) {
         ProfileResponse response = new ProfileResponse();
         response.setId(profile.getId());
@@ -25,8 +25,13 @@ function AdminDashboard({ onLogout }) {
     try {
       const token = localStorage.getItem('accessToken');
       
-      // Fetch users from auth service
+      // /api/auth/users is paged, so the stats come from the count endpoint and the
+      // table from the newest page only
+      const countsResponse = await axios.get('/api/auth/users/count', {
+        headers: { Authorization: `Bearer ${token}` }
+      });
       const usersResponse = await axios.get('/api/auth/users', {
+        params: { newestFirst: true, limit: 10 },
         headers: { Authorization: `Bearer ${token}` }
       });
       
@@ -35,17 +40,18 @@ function AdminDashboard({ onLogout }) {
         headers: { Authorization: `Bearer ${token}` }
       });
 
-      const allUsers = usersResponse.data || [];
+      const counts = countsResponse.data || {};
+      const recentUsers = usersResponse.data || [];
       const allJobs = jobsResponse.data || [];
 
-      setUsers(allUsers);
+      setUsers(recentUsers);
       setJobs(allJobs);
 
       // Calculate stats
       setStats({
-        totalUsers: allUsers.length,
-        totalCandidates: allUsers.filter(u => u.role === 'CANDIDATE').length,
-        totalRecruiters: allUsers.filter(u => u.role === 'RECRUITER').length,
+        totalUsers: counts.total || 0,
+        totalCandidates: counts.CANDIDATE || 0,
+        totalRecruiters: counts.RECRUITER || 0,
         totalJobs: allJobs.length,
         activeJobs: allJobs.filter(j => j.isActive !== false).length,
         totalApplications: 0 // Will be calculated from applications API
@@ -5,6 +5,8 @@ import { useNavigate } from 'react-router-dom';
 function AdminUsers({ onLogout }) {
   const navigate = useNavigate();
   const [users, setUsers] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [counts, setCounts] = useState({});
   const [loading, setLoading] = useState(true);
   const [searchTerm, setSearchTerm] = useState('');
   const [filterRole, setFilterRole] = useState('ALL');
@@ -19,18 +21,42 @@ function AdminUsers({ onLogout }) {
   });
 
   useEffect(() => {
-    fetchUsers();
+    fetchCounts();
   }, []);
 
-  const fetchUsers = async () => {
+  // Filters run on the server, so wait for typing to settle before asking again
+  useEffect(() => {
+    const timer = setTimeout(() => fetchUsers(), 300);
+    return () => clearTimeout(timer);
+  }, [searchTerm, filterRole]);
+
+  const fetchCounts = async () => {
     try {
       const token = localStorage.getItem('accessToken');
+      const response = await axios.get('/api/auth/users/count', {
+        headers: { Authorization: `Bearer ${token}` }
+      });
+      setCounts(response.data || {});
+    } catch (error) {
+      console.error('Error fetching user counts:', error);
+    }
+  };
+
+  // Pages newest first; pass the X-Next-Cursor of the last page to load the one after it
+  const fetchUsers = async (before = null) => {
+    try {
+      const token = localStorage.getItem('accessToken');
+      const params = { newestFirst: true };
+      if (before) params.before = before;
+      if (searchTerm) params.emailPrefix = searchTerm;
+      if (filterRole !== 'ALL') params.role = filterRole;
       const response = await axios.get('/api/auth/users', {
+        params,
         headers: { Authorization: `Bearer ${token}` }
       });
-      // Sort users by ID descending (newest first)
-      const sortedUsers = (response.data || []).sort((a, b) => b.id - a.id);
-      setUsers(sortedUsers);
+      const page = response.data || [];
+      setUsers(before ? [...users, ...page] : page);
+      setNextCursor(response.headers['x-next-cursor'] || null);
       setLoading(false);
     } catch (error) {
       console.error('Error fetching users:', error);
@@ -38,6 +64,11 @@ function AdminUsers({ onLogout }) {
     }
   };
 
+  const refreshUsers = () => {
+    fetchUsers();
+    fetchCounts();
+  };
+
   const handleDeactivateUser = async (userId) => {
     if (!confirm('Are you sure you want to deactivate this user?')) return;
     
@@ -47,7 +78,7 @@ function AdminUsers({ onLogout }) {
         headers: { Authorization: `Bearer ${token}` }
       });
       alert('User deactivated successfully');
-      fetchUsers();
+      refreshUsers();
     } catch (error) {
       console.error('Error deactivating user:', error);
       alert('Failed to deactivate user');
@@ -63,7 +94,7 @@ function AdminUsers({ onLogout }) {
         headers: { Authorization: `Bearer ${token}` }
       });
       alert('User deleted successfully');
-      fetchUsers();
+      refreshUsers();
     } catch (error) {
       console.error('Error deleting user:', error);
       alert('Failed to delete user');
@@ -89,7 +120,7 @@ function AdminUsers({ onLogout }) {
       });
       alert('User updated successfully');
       setShowEditModal(false);
-      fetchUsers();
+      refreshUsers();
     } catch (error) {
       console.error('Error updating user:', error);
       alert('Failed to update user');
@@ -116,7 +147,7 @@ function AdminUsers({ onLogout }) {
       alert('User created successfully');
       setShowCreateModal(false);
       setFormData({ email: '', password: '', role: 'CANDIDATE' });
-      fetchUsers();
+      refreshUsers();
     } catch (error) {
       console.error('Error creating user:', error);
       const errorMessage = error.response?.data?.message || 'Failed to create user';
@@ -129,12 +160,6 @@ function AdminUsers({ onLogout }) {
     navigate('/login');
   };
 
-  const filteredUsers = users.filter(user => {
-    const matchesSearch = user.email.toLowerCase().includes(searchTerm.toLowerCase());
-    const matchesRole = filterRole === 'ALL' || user.role === filterRole;
-    return matchesSearch && matchesRole;
-  });
-
   if (loading) {
     return <div style={{ padding: '2rem', textAlign: 'center' }}>Loading...</div>;
   }
@@ -223,7 +248,7 @@ function AdminUsers({ onLogout }) {
           <div style={{ display: 'flex', gap: '1rem', flexWrap: 'wrap' }}>
             <input
               type="text"
-              placeholder="Search by email..."
+              placeholder="Search by email prefix..."
               value={searchTerm}
               onChange={(e) => setSearchTerm(e.target.value)}
               style={{ flex: 1, minWidth: '250px', padding: '0.75rem', border: '1px solid #e2e8f0', borderRadius: '6px', fontSize: '0.95rem' }}
@@ -245,19 +270,19 @@ function AdminUsers({ onLogout }) {
         <div style={{ display: 'grid', gridTemplateColumns: 'repeat(auto-fit, minmax(200px, 1fr))', gap: '1rem', marginBottom: '2rem' }}>
           <div style={{ background: 'white', padding: '1.25rem', borderRadius: '8px', border: '1px solid #e2e8f0' }}>
             <div style={{ fontSize: '0.875rem', color: '#64748b', marginBottom: '0.5rem' }}>Total Users</div>
-            <div style={{ fontSize: '1.75rem', fontWeight: '700', color: '#0f172a' }}>{users.length}</div>
+            <div style={{ fontSize: '1.75rem', fontWeight: '700', color: '#0f172a' }}>{counts.total || 0}</div>
           </div>
           <div style={{ background: 'white', padding: '1.25rem', borderRadius: '8px', border: '1px solid #e2e8f0' }}>
             <div style={{ fontSize: '0.875rem', color: '#64748b', marginBottom: '0.5rem' }}>Candidates</div>
-            <div style={{ fontSize: '1.75rem', fontWeight: '700', color: '#3b82f6' }}>{users.filter(u => u.role === 'CANDIDATE').length}</div>
+            <div style={{ fontSize: '1.75rem', fontWeight: '700', color: '#3b82f6' }}>{counts.CANDIDATE || 0}</div>
           </div>
           <div style={{ background: 'white', padding: '1.25rem', borderRadius: '8px', border: '1px solid #e2e8f0' }}>
             <div style={{ fontSize: '0.875rem', color: '#64748b', marginBottom: '0.5rem' }}>Recruiters</div>
-            <div style={{ fontSize: '1.75rem', fontWeight: '700', color: '#8b5cf6' }}>{users.filter(u => u.role === 'RECRUITER').length}</div>
+            <div style={{ fontSize: '1.75rem', fontWeight: '700', color: '#8b5cf6' }}>{counts.RECRUITER || 0}</div>
           </div>
           <div style={{ background: 'white', padding: '1.25rem', borderRadius: '8px', border: '1px solid #e2e8f0' }}>
             <div style={{ fontSize: '0.875rem', color: '#64748b', marginBottom: '0.5rem' }}>Active Users</div>
-            <div style={{ fontSize: '1.75rem', fontWeight: '700', color: '#10b981' }}>{users.filter(u => u.isActive).length}</div>
+            <div style={{ fontSize: '1.75rem', fontWeight: '700', color: '#10b981' }}>{counts.active || 0}</div>
           </div>
         </div>
 
@@ -276,7 +301,7 @@ function AdminUsers({ onLogout }) {
                 </tr>
               </thead>
               <tbody>
-                {filteredUsers.map((user) => (
+                {users.map((user) => (
                   <tr key={user.id} style={{ borderBottom: '1px solid #f1f5f9' }}>
                     <td style={{ padding: '1rem', fontSize: '0.875rem', color: '#0f172a', fontWeight: '600' }}>{user.id}</td>
                     <td style={{ padding: '1rem', fontSize: '0.875rem', color: '#0f172a' }}>{user.email}</td>
@@ -339,11 +364,22 @@ function AdminUsers({ onLogout }) {
             </table>
           </div>
 
-          {filteredUsers.length === 0 && (
+          {users.length === 0 && (
             <div style={{ textAlign: 'center', padding: '3rem', color: '#64748b' }}>
               No users found
             </div>
           )}
+
+          {nextCursor && (
+            <div style={{ textAlign: 'center', paddingTop: '1.5rem' }}>
+              <button
+                onClick={() => fetchUsers(nextCursor)}
+                style={{ padding: '0.75rem 1.5rem', background: 'white', color: '#0f172a', border: '1px solid #e2e8f0', borderRadius: '6px', cursor: 'pointer', fontWeight: '600', fontSize: '0.95rem' }}
+              >
+                Load more
+              </button>
+            </div>
+          )}
         </div>
 
         {/* Edit Modal */}
@@ -16,8 +16,8 @@ function Jobs() {
     try {
       setLoading(true);
       const url = keyword 
-        ? `/api/jobs/search?keyword=${encodeURIComponent(keyword)}`
-        : '/api/jobs/search';
+        ? `/api/jobs/search/snippets?keyword=${encodeURIComponent(keyword)}`
+        : '/api/jobs/search/snippets';
       const response = await fetch(url);
       const data = await response.json();
       setJobs(data);
@@ -28,6 +28,19 @@ function Jobs() {
     }
   };
 
+  const renderSnippet = (snippet) => {
+    if (!snippet || !snippet.text) return null;
+    const parts = [];
+    let cursor = 0;
+    (snippet.highlights || []).forEach(([start, end], idx) => {
+      if (start > cursor) parts.push(snippet.text.slice(cursor, start));
+      parts.push(<mark key={idx} style={{ background: '#fef08a', color: 'inherit', padding: 0 }}>{snippet.text.slice(start, end)}</mark>);
+      cursor = end;
+    });
+    parts.push(snippet.text.slice(cursor));
+    return parts;
+  };
+
   const handleSearch = (e) => {
     e.preventDefault();
     fetchJobs(searchKeyword);
@@ -187,20 +200,13 @@ function Jobs() {
                 </div>
                 
                 <p style={{ color: '#475569', marginBottom: '1.25rem', lineHeight: '1.7', fontSize: '0.975rem' }}>
-                  {job.description}
+                  {renderSnippet(job.descriptionSnippet)}
                 </p>
                 
                 <div style={{ borderTop: '1px solid #e2e8f0', paddingTop: '1.25rem' }}>
                   <div style={{ marginBottom: '0.75rem' }}>
                     <span style={{ color: '#0f172a', fontWeight: '600', fontSize: '0.95rem' }}>📋 Yêu cầu: </span>
-                    <span style={{ color: '#64748b', fontSize: '0.95rem' }}>{job.requirements}</span>
-                  </div>
-                  <div style={{ display: 'flex', gap: '0.5rem', flexWrap: 'wrap' }}>
-                    {job.requirements.split(',').slice(0, 5).map((skill, idx) => (
-                      <span key={idx} style={{ background: '#dbeafe', color: '#0369a1', padding: '0.375rem 0.875rem', borderRadius: '6px', fontSize: '0.85rem', fontWeight: '500' }}>
-                        {skill.trim()}
-                      </span>
-                    ))}
+                    <span style={{ color: '#64748b', fontSize: '0.95rem' }}>{renderSnippet(job.requirementsSnippet)}</span>
                   </div>
                 </div>
               </div>
@@ -0,0 +1,146 @@
+package com.careermate.job.archive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Moves closed job posts and their applications out of the live tables into
+ * {@code job_posts_archive} / {@code applications_archive}, so the tables and indexes
+ * behind the hot {@code is_active = true} queries only hold open postings.
+ */
+@Component
+public class JobArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(JobArchiver.class);
+
+    private static final String JOBS = "job_posts";
+    private static final String APPLICATIONS = "applications";
+    private static final String JOBS_ARCHIVE = "job_posts_archive";
+    private static final String APPLICATIONS_ARCHIVE = "applications_archive";
+
+    private static final String SELECT_CLOSED_SQL =
+            "SELECT id FROM job_posts WHERE is_active = false " +
+            "AND COALESCE(updated_at, created_at) < ? ORDER BY id LIMIT ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${jobs.archive.retention-days:30}")
+    private int retentionDays;
+
+    @Value("${jobs.archive.batch-size:500}")
+    private int batchSize;
+
+    // Column lists shared by each live table and its archive, resolved once the schema is in place
+    private volatile String jobColumns;
+    private volatile String applicationColumns;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureArchiveTables() {
+        jobColumns = ensureArchiveTable(JOBS, JOBS_ARCHIVE);
+        applicationColumns = ensureArchiveTable(APPLICATIONS, APPLICATIONS_ARCHIVE);
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_job_archive_recruiter ON job_posts_archive (recruiter_email)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_application_archive_candidate ON applications_archive (candidate_email)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_application_archive_job ON applications_archive (job_id)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_application_archive_candidate_id ON applications_archive (candidate_id)");
+    }
+
+    private String ensureArchiveTable(String table, String archive) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + archive + " (LIKE " + table + " INCLUDING DEFAULTS)");
+        jdbcTemplate.execute("ALTER TABLE " + archive + " ADD COLUMN IF NOT EXISTS archived_at TIMESTAMP DEFAULT now()");
+        Integer primaryKeys = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_index WHERE indrelid = ?::regclass AND indisprimary",
+                Integer.class, archive);
+        if (primaryKeys == null || primaryKeys == 0) {
+            jdbcTemplate.execute("ALTER TABLE " + archive + " ADD PRIMARY KEY (id)");
+        }
+
+        // Hibernate keeps adding columns to the live table as entities grow; mirror them
+        List<String> live = columnsOf(table);
+        Set<String> archived = new LinkedHashSet<>(columnsOf(archive));
+        for (String column : live) {
+            if (!archived.contains(column)) {
+                String type = jdbcTemplate.queryForObject(
+                        "SELECT format_type(a.atttypid, a.atttypmod) FROM pg_attribute a " +
+                        "WHERE a.attrelid = ?::regclass AND a.attname = ?",
+                        String.class, table, column);
+                jdbcTemplate.execute("ALTER TABLE " + archive + " ADD COLUMN " + column + " " + type);
+            }
+        }
+        return String.join(", ", live);
+    }
+
+    private List<String> columnsOf(String table) {
+        return jdbcTemplate.queryForList(
+                "SELECT column_name FROM information_schema.columns " +
+                "WHERE table_schema = current_schema() AND table_name = ? ORDER BY ordinal_position",
+                String.class, table);
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.archive.interval-ms:3600000}", initialDelayString = "${jobs.archive.interval-ms:3600000}")
+    public void archiveClosedJobs() {
+        if (jobColumns == null || applicationColumns == null) {
+            return;
+        }
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusDays(retentionDays));
+        int archived = 0;
+        while (true) {
+            Integer moved;
+            try {
+                moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            } catch (DataAccessException ex) {
+                log.warn("Job archival stopped after {} jobs: {}", archived, ex.getMessage());
+                return;
+            }
+            if (moved == null || moved == 0) {
+                break;
+            }
+            archived += moved;
+            if (moved < batchSize) {
+                break;
+            }
+        }
+        if (archived > 0) {
+            log.info("Archived {} closed jobs", archived);
+        }
+    }
+
+    // One batch per transaction keeps row locks and WAL bursts small while the service is serving traffic
+    private int archiveBatch(Timestamp cutoff) {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_CLOSED_SQL, Long.class, cutoff, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        Object[] args = ids.toArray();
+
+        jdbcTemplate.update(moveSql(APPLICATIONS, APPLICATIONS_ARCHIVE, applicationColumns,
+                "job_id IN (" + placeholders + ")"), args);
+        return jdbcTemplate.update(moveSql(JOBS, JOBS_ARCHIVE, jobColumns,
+                "id IN (" + placeholders + ")"), args);
+    }
+
+    private static String moveSql(String table, String archive, String columns, String where) {
+        return "WITH moved AS (DELETE FROM " + table + " WHERE " + where + " RETURNING " + columns + ") " +
+               "INSERT INTO " + archive + " (" + columns + ") SELECT " + columns + " FROM moved";
+    }
+}
@@ -0,0 +1,31 @@
+package com.careermate.job.controller;
+
+import com.careermate.job.service.TrendingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+// Service-to-service endpoints; the gateway does not route /internal/**
+@RestController
+@RequestMapping("/internal/jobs")
+public class InternalJobController {
+
+    @Autowired
+    private TrendingService trendingService;
+
+    // Views of job details the gateway served from its cache, keyed by job id
+    @PostMapping("/views")
+    public ResponseEntity<Void> recordViews(@RequestBody Map<Long, Long> views) {
+        views.forEach((jobId, count) -> {
+            if (jobId != null && count != null && count > 0) {
+                trendingService.recordViews(jobId, count);
+            }
+        });
+        return ResponseEntity.noContent().build();
+    }
+}
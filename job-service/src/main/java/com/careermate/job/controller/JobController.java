@@ -3,8 +3,14 @@ package com.careermate.job.controller;
 import com.careermate.job.dto.ApplicationRequest;
 import com.careermate.job.dto.ApplicationResponse;
 import com.careermate.job.dto.JobPostResponse;
+import com.careermate.job.dto.JobRecommendationResponse;
+import com.careermate.job.dto.JobSearchResult;
+import com.careermate.job.dto.RecommendationRequest;
+import com.careermate.job.dto.TrendingJobResponse;
 import com.careermate.job.entity.JobPost;
 import com.careermate.job.service.JobService;
+import com.careermate.job.service.RecommendationService;
+import com.careermate.job.service.TrendingService;
 import com.careermate.job.util.DocumentParser;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -22,19 +28,44 @@ public class JobController {
     @Autowired
     private JobService jobService;
 
+    @Autowired
+    private RecommendationService recommendationService;
+
+    @Autowired
+    private TrendingService trendingService;
+
     @GetMapping("/search")
     public ResponseEntity<List<JobPostResponse>> searchJobs(@RequestParam(required = false) String keyword) {
         return ResponseEntity.ok(jobService.searchJobs(keyword));
     }
 
+    @GetMapping("/search/snippets")
+    public ResponseEntity<List<JobSearchResult>> searchJobSnippets(@RequestParam(required = false) String keyword) {
+        return ResponseEntity.ok(jobService.searchJobSnippets(keyword));
+    }
+
     @GetMapping("/my-jobs")
-    public ResponseEntity<List<JobPostResponse>> getMyJobs(@RequestHeader("X-User-Email") String recruiterEmail) {
-        return ResponseEntity.ok(jobService.getMyJobs(recruiterEmail));
+    public ResponseEntity<List<JobPostResponse>> getMyJobs(
+            @RequestHeader("X-User-Email") String recruiterEmail,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return ResponseEntity.ok(jobService.getMyJobs(recruiterEmail, includeArchived));
+    }
+
+    @PostMapping("/recommendations")
+    public ResponseEntity<List<JobRecommendationResponse>> recommendJobs(@RequestBody RecommendationRequest request) {
+        return ResponseEntity.ok(recommendationService.recommend(request));
+    }
+
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingJobResponse>> getTrendingJobs(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(trendingService.getTrendingJobs(limit));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<JobPostResponse> getJob(@PathVariable Long id) {
-        return ResponseEntity.ok(jobService.getJobById(id));
+        JobPostResponse job = jobService.getJobById(id);
+        trendingService.recordView(id);
+        return ResponseEntity.ok(job);
     }
 
     @PostMapping
@@ -42,6 +73,24 @@ public class JobController {
         return ResponseEntity.ok(jobService.createJob(jobPost));
     }
 
+    @PutMapping("/{id}")
+    public ResponseEntity<JobPostResponse> updateJob(
+            @PathVariable Long id,
+            @RequestBody JobPost jobPost,
+            @RequestHeader(value = "X-User-Email", required = false) String userEmail,
+            @RequestHeader(value = "X-User-Role", required = false) String userRole) {
+        return ResponseEntity.ok(jobService.updateJob(id, jobPost, userEmail, userRole));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deactivateJob(
+            @PathVariable Long id,
+            @RequestHeader(value = "X-User-Email", required = false) String userEmail,
+            @RequestHeader(value = "X-User-Role", required = false) String userRole) {
+        jobService.deactivateJob(id, userEmail, userRole);
+        return ResponseEntity.noContent().build();
+    }
+
     @PostMapping(value = "/{id}/apply", consumes = {"multipart/form-data"})
     public ResponseEntity<ApplicationResponse> applyForJob(
             @PathVariable Long id,
@@ -49,7 +98,8 @@ public class JobController {
             @RequestParam(required = false) String candidateEmail,
             @RequestParam(required = false) String cvText,
             @RequestParam(required = false) MultipartFile cvFile,
-            @RequestHeader(value = "X-User-Email", required = false) String headerEmail) throws IOException {
+            @RequestHeader(value = "X-User-Email", required = false) String headerEmail,
+            @RequestHeader(value = "X-User-Id", required = false) Long userId) throws IOException {
         
         // If email not in header, use from request param
         if (headerEmail == null || headerEmail.isEmpty()) {
@@ -73,12 +123,14 @@ public class JobController {
             }
         }
         
-        return ResponseEntity.ok(jobService.applyForJob(id, candidateEmail, coverLetter, cvContent, cvFileName));
+        return ResponseEntity.ok(jobService.applyForJob(id, userId, candidateEmail, coverLetter, cvContent, cvFileName));
     }
 
     @GetMapping("/{id}/applications")
-    public ResponseEntity<List<ApplicationResponse>> getJobApplications(@PathVariable Long id) {
-        return ResponseEntity.ok(jobService.getJobApplications(id));
+    public ResponseEntity<List<ApplicationResponse>> getJobApplications(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return ResponseEntity.ok(jobService.getJobApplications(id, includeArchived));
     }
 
     @PutMapping("/applications/{applicationId}/status")
@@ -90,7 +142,17 @@ public class JobController {
 
     @GetMapping("/applications")
     public ResponseEntity<List<ApplicationResponse>> getCandidateApplications(
-            @RequestParam String candidateEmail) {
-        return ResponseEntity.ok(jobService.getCandidateApplications(candidateEmail));
+            @RequestParam(required = false) String candidateEmail,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestHeader(value = "X-User-Email", required = false) String headerEmail,
+            @RequestHeader(value = "X-User-Id", required = false) Long userId) {
+        // The gateway identity wins over the query parameter
+        if (headerEmail != null && !headerEmail.isEmpty()) {
+            candidateEmail = headerEmail;
+        }
+        if (candidateEmail == null && userId == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(jobService.getCandidateApplications(userId, candidateEmail, includeArchived));
     }
 }
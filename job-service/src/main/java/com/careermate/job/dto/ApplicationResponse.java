@@ -6,6 +6,7 @@ public class ApplicationResponse {
     private Long id;
     private Long jobId;
     private String candidateEmail;
+    private Long candidateId;
     private String coverLetter;
     private String cvContent;
     private String cvFileName;
@@ -33,6 +34,9 @@ public class ApplicationResponse {
     public String getCandidateEmail() { return candidateEmail; }
     public void setCandidateEmail(String candidateEmail) { this.candidateEmail = candidateEmail; }
 
+    public Long getCandidateId() { return candidateId; }
+    public void setCandidateId(Long candidateId) { this.candidateId = candidateId; }
+
     public String getCoverLetter() { return coverLetter; }
     public void setCoverLetter(String coverLetter) { this.coverLetter = coverLetter; }
 
@@ -13,6 +13,7 @@ public class JobPostResponse {
     private String experienceRequired;
     private String requirements;
     private Integer availableSlots;
+    private LocalDateTime applicationDeadline;
     private LocalDateTime createdAt;
 
     // Getters and Setters
@@ -46,6 +47,9 @@ public class JobPostResponse {
     public Integer getAvailableSlots() { return availableSlots; }
     public void setAvailableSlots(Integer availableSlots) { this.availableSlots = availableSlots; }
 
+    public LocalDateTime getApplicationDeadline() { return applicationDeadline; }
+    public void setApplicationDeadline(LocalDateTime applicationDeadline) { this.applicationDeadline = applicationDeadline; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 }
@@ -0,0 +1,51 @@
+package com.careermate.job.dto;
+
+import java.time.LocalDateTime;
+
+public class JobSearchResult {
+    private Long id;
+    private String title;
+    private String companyName;
+    private String location;
+    private String salaryRange;
+    private String employmentType;
+    private String experienceRequired;
+    private Integer availableSlots;
+    private LocalDateTime createdAt;
+    private SearchSnippet descriptionSnippet;
+    private SearchSnippet requirementsSnippet;
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getCompanyName() { return companyName; }
+    public void setCompanyName(String companyName) { this.companyName = companyName; }
+
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+
+    public String getSalaryRange() { return salaryRange; }
+    public void setSalaryRange(String salaryRange) { this.salaryRange = salaryRange; }
+
+    public String getEmploymentType() { return employmentType; }
+    public void setEmploymentType(String employmentType) { this.employmentType = employmentType; }
+
+    public String getExperienceRequired() { return experienceRequired; }
+    public void setExperienceRequired(String experienceRequired) { this.experienceRequired = experienceRequired; }
+
+    public Integer getAvailableSlots() { return availableSlots; }
+    public void setAvailableSlots(Integer availableSlots) { this.availableSlots = availableSlots; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public SearchSnippet getDescriptionSnippet() { return descriptionSnippet; }
+    public void setDescriptionSnippet(SearchSnippet descriptionSnippet) { this.descriptionSnippet = descriptionSnippet; }
+
+    public SearchSnippet getRequirementsSnippet() { return requirementsSnippet; }
+    public void setRequirementsSnippet(SearchSnippet requirementsSnippet) { this.requirementsSnippet = requirementsSnippet; }
+}
@@ -0,0 +1,23 @@
+package com.careermate.job.dto;
+
+import java.util.List;
+
+public class SearchSnippet {
+    private String text;
+    // [start, end) offsets into text for every matched term
+    private List<int[]> highlights;
+
+    public SearchSnippet() {
+    }
+
+    public SearchSnippet(String text, List<int[]> highlights) {
+        this.text = text;
+        this.highlights = highlights;
+    }
+
+    public String getText() { return text; }
+    public void setText(String text) { this.text = text; }
+
+    public List<int[]> getHighlights() { return highlights; }
+    public void setHighlights(List<int[]> highlights) { this.highlights = highlights; }
+}
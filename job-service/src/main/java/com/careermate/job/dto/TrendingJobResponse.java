@@ -0,0 +1,33 @@
+package com.careermate.job.dto;
+
+public class TrendingJobResponse {
+    private Long jobId;
+    private String title;
+    private String companyName;
+    private String location;
+    private String employmentType;
+    private Long viewCount;
+    private Double trendingScore;
+
+    // Getters and Setters
+    public Long getJobId() { return jobId; }
+    public void setJobId(Long jobId) { this.jobId = jobId; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getCompanyName() { return companyName; }
+    public void setCompanyName(String companyName) { this.companyName = companyName; }
+
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+
+    public String getEmploymentType() { return employmentType; }
+    public void setEmploymentType(String employmentType) { this.employmentType = employmentType; }
+
+    public Long getViewCount() { return viewCount; }
+    public void setViewCount(Long viewCount) { this.viewCount = viewCount; }
+
+    public Double getTrendingScore() { return trendingScore; }
+    public void setTrendingScore(Double trendingScore) { this.trendingScore = trendingScore; }
+}
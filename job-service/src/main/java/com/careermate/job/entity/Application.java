@@ -7,7 +7,9 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "applications")
+@Table(name = "applications", indexes = {
+    @Index(name = "idx_application_candidate_id", columnList = "candidate_id")
+})
 @EntityListeners(AuditingEntityListener.class)
 public class Application {
     @Id
@@ -20,6 +22,10 @@ public class Application {
     @Column(name = "candidate_email", nullable = false)
     private String candidateEmail;
 
+    // Auth user id; null on applications made before the gateway forwarded X-User-Id
+    @Column(name = "candidate_id")
+    private Long candidateId;
+
     @Column(name = "cover_letter", columnDefinition = "TEXT")
     private String coverLetter;
 
@@ -46,6 +52,9 @@ public class Application {
     public String getCandidateEmail() { return candidateEmail; }
     public void setCandidateEmail(String candidateEmail) { this.candidateEmail = candidateEmail; }
 
+    public Long getCandidateId() { return candidateId; }
+    public void setCandidateId(Long candidateId) { this.candidateId = candidateId; }
+
     public String getCoverLetter() { return coverLetter; }
     public void setCoverLetter(String coverLetter) { this.coverLetter = coverLetter; }
 
@@ -8,7 +8,9 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "job_posts")
+@Table(name = "job_posts", indexes = {
+    @Index(name = "idx_job_active_deadline", columnList = "is_active, application_deadline")
+})
 @EntityListeners(AuditingEntityListener.class)
 public class JobPost {
     @Id
@@ -50,6 +52,12 @@ public class JobPost {
     @Column(name = "available_slots")
     private Integer availableSlots = 1;
 
+    @Column(name = "view_count")
+    private Long viewCount = 0L;
+
+    @Column(name = "application_deadline")
+    private LocalDateTime applicationDeadline;
+
     @CreatedDate
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -98,6 +106,12 @@ public class JobPost {
     public Integer getAvailableSlots() { return availableSlots; }
     public void setAvailableSlots(Integer availableSlots) { this.availableSlots = availableSlots; }
 
+    public Long getViewCount() { return viewCount; }
+    public void setViewCount(Long viewCount) { this.viewCount = viewCount; }
+
+    public LocalDateTime getApplicationDeadline() { return applicationDeadline; }
+    public void setApplicationDeadline(LocalDateTime applicationDeadline) { this.applicationDeadline = applicationDeadline; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
@@ -0,0 +1,207 @@
+package com.careermate.job.expiry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel keyed by job id. Level 0 has {@code wheelSize} slots of
+ * {@code tickMs}; every higher level has slots {@code wheelSize} times wider and is
+ * created only when a deadline falls beyond the levels that already exist.
+ *
+ * Scheduling and cancelling are O(1). Advancing the clock by one tick drains a single
+ * level-0 slot, and a higher-level slot is drained (its entries cascaded to finer
+ * levels) only when the clock reaches the start of that slot's window.
+ */
+public class HierarchicalTimingWheel {
+
+    private static final int MAX_LEVELS = 4;
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final List<Bucket[]> levels = new ArrayList<>();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private long currentTime;
+
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.currentTime = startMs - Math.floorMod(startMs, tickMs);
+        levels.add(newLevel());
+    }
+
+    /**
+     * Schedules (or reschedules) a job. Returns false when the deadline is already due;
+     * the caller should then handle it right away.
+     */
+    public synchronized boolean schedule(long jobId, long expirationMs) {
+        cancel(jobId);
+        Entry entry = new Entry(jobId, expirationMs);
+        if (!place(entry)) {
+            return false;
+        }
+        entries.put(jobId, entry);
+        return true;
+    }
+
+    public synchronized boolean cancel(long jobId) {
+        Entry entry = entries.remove(jobId);
+        if (entry == null) {
+            return false;
+        }
+        entry.bucket.remove(entry);
+        return true;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Moves the clock forward to {@code nowMs} and returns the ids of every job whose
+     * deadline has passed.
+     */
+    public synchronized List<Long> advanceTo(long nowMs) {
+        List<Long> expired = new ArrayList<>();
+        if (entries.isEmpty()) {
+            // Nothing to fire, so jump straight to the current tick
+            long aligned = nowMs - Math.floorMod(nowMs, tickMs);
+            currentTime = Math.max(currentTime, aligned);
+            return expired;
+        }
+        while (currentTime + tickMs <= nowMs && !entries.isEmpty()) {
+            currentTime += tickMs;
+
+            Bucket due = levels.get(0)[(int) Math.floorMod(currentTime / tickMs, (long) wheelSize)];
+            for (Entry entry : due.drain()) {
+                entries.remove(entry.jobId);
+                expired.add(entry.jobId);
+            }
+
+            // Then cascade coarser slots whose window starts now. Level 0 is drained first so an
+            // entry landing one full rotation ahead is not picked up by the drain above.
+            for (int level = levels.size() - 1; level >= 1; level--) {
+                long levelTick = levelTickMs(level);
+                if (currentTime % levelTick == 0) {
+                    Bucket bucket = levels.get(level)[(int) Math.floorMod(currentTime / levelTick, (long) wheelSize)];
+                    for (Entry entry : bucket.drain()) {
+                        if (!place(entry)) {
+                            entries.remove(entry.jobId);
+                            expired.add(entry.jobId);
+                        }
+                    }
+                }
+            }
+        }
+        if (entries.isEmpty()) {
+            long aligned = nowMs - Math.floorMod(nowMs, tickMs);
+            currentTime = Math.max(currentTime, aligned);
+        }
+        return expired;
+    }
+
+    private boolean place(Entry entry) {
+        // Level 0 rounds up, so an entry only fires once its deadline has really passed
+        long slot = Math.floorDiv(entry.expiration + tickMs - 1, tickMs);
+        long currentSlot = currentTime / tickMs;
+        if (slot <= currentSlot) {
+            return false;
+        }
+        if (slot <= currentSlot + wheelSize) {
+            levels.get(0)[(int) Math.floorMod(slot, (long) wheelSize)].add(entry);
+            return true;
+        }
+
+        // Higher levels round down and are drained when their window starts
+        for (int level = 1; level < MAX_LEVELS; level++) {
+            if (level == levels.size()) {
+                levels.add(newLevel());
+            }
+            long levelTick = levelTickMs(level);
+            long levelSlot = Math.floorDiv(entry.expiration, levelTick);
+            if (levelSlot < currentTime / levelTick + wheelSize) {
+                levels.get(level)[(int) Math.floorMod(levelSlot, (long) wheelSize)].add(entry);
+                return true;
+            }
+        }
+        // Further out than the top level can express: park it in the last slot, it cascades later
+        Bucket[] top = levels.get(MAX_LEVELS - 1);
+        long topTick = levelTickMs(MAX_LEVELS - 1);
+        top[(int) Math.floorMod(currentTime / topTick + wheelSize - 1, (long) wheelSize)].add(entry);
+        return true;
+    }
+
+    private long levelTickMs(int level) {
+        long tick = tickMs;
+        for (int i = 0; i < level; i++) {
+            tick *= wheelSize;
+        }
+        return tick;
+    }
+
+    private Bucket[] newLevel() {
+        Bucket[] buckets = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new Bucket();
+        }
+        return buckets;
+    }
+
+    private static final class Entry {
+        final long jobId;
+        final long expiration;
+        Bucket bucket;
+        Entry prev;
+        Entry next;
+
+        Entry(long jobId, long expiration) {
+            this.jobId = jobId;
+            this.expiration = expiration;
+        }
+    }
+
+    // Intrusive doubly linked list so an entry can be unlinked in O(1) on cancel
+    private static final class Bucket {
+        Entry head;
+
+        void add(Entry entry) {
+            entry.bucket = this;
+            entry.prev = null;
+            entry.next = head;
+            if (head != null) {
+                head.prev = entry;
+            }
+            head = entry;
+        }
+
+        void remove(Entry entry) {
+            if (entry.prev != null) {
+                entry.prev.next = entry.next;
+            } else {
+                head = entry.next;
+            }
+            if (entry.next != null) {
+                entry.next.prev = entry.prev;
+            }
+            entry.prev = null;
+            entry.next = null;
+            entry.bucket = null;
+        }
+
+        List<Entry> drain() {
+            List<Entry> drained = new ArrayList<>();
+            Entry entry = head;
+            while (entry != null) {
+                Entry next = entry.next;
+                entry.prev = null;
+                entry.next = null;
+                entry.bucket = null;
+                drained.add(entry);
+                entry = next;
+            }
+            head = null;
+            return drained;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.careermate.job.expiry;
+
+import com.careermate.job.entity.JobPost;
+import com.careermate.job.repository.ApplicationRepository;
+import com.careermate.job.repository.JobPostRepository;
+import com.careermate.job.service.RecommendationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+@Component
+public class JobExpiryScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(JobExpiryScheduler.class);
+
+    private static final int RECOVERY_PAGE_SIZE = 10_000;
+
+    @Autowired
+    private JobPostRepository jobPostRepository;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${jobs.expiry.batch-size:500}")
+    private int batchSize;
+
+    private final HierarchicalTimingWheel wheel;
+
+    // Deadlines that fired but have not been written to the database yet
+    private final Queue<Long> due = new ConcurrentLinkedQueue<>();
+
+    public JobExpiryScheduler(@Value("${jobs.expiry.tick-ms:1000}") long tickMs,
+                              @Value("${jobs.expiry.wheel-size:512}") int wheelSize) {
+        this.wheel = new HierarchicalTimingWheel(tickMs, wheelSize, System.currentTimeMillis());
+    }
+
+    // The wheel lives in memory only, so rebuild it from the active jobs on startup
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        long afterId = 0L;
+        int recovered = 0;
+        while (true) {
+            List<Object[]> page = jobPostRepository.findActiveDeadlinesAfter(afterId, PageRequest.of(0, RECOVERY_PAGE_SIZE));
+            for (Object[] row : page) {
+                schedule((Long) row[0], (LocalDateTime) row[1]);
+            }
+            recovered += page.size();
+            if (page.size() < RECOVERY_PAGE_SIZE) {
+                break;
+            }
+            afterId = (Long) page.get(page.size() - 1)[0];
+        }
+        log.info("Scheduled {} job deadlines, {} already due", recovered, due.size());
+    }
+
+    public void schedule(JobPost job) {
+        if (job.getId() == null) {
+            return;
+        }
+        if (!Boolean.TRUE.equals(job.getIsActive()) || job.getApplicationDeadline() == null) {
+            wheel.cancel(job.getId());
+            return;
+        }
+        schedule(job.getId(), job.getApplicationDeadline());
+    }
+
+    public void cancel(Long jobId) {
+        wheel.cancel(jobId);
+    }
+
+    private void schedule(Long jobId, LocalDateTime deadline) {
+        long deadlineMs = deadline.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        if (!wheel.schedule(jobId, deadlineMs)) {
+            due.add(jobId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.expiry.tick-ms:1000}")
+    public void tick() {
+        due.addAll(wheel.advanceTo(System.currentTimeMillis()));
+        if (due.isEmpty()) {
+            return;
+        }
+
+        List<Long> pending = new ArrayList<>();
+        Long jobId;
+        while ((jobId = due.poll()) != null) {
+            pending.add(jobId);
+        }
+        for (int from = 0; from < pending.size(); from += batchSize) {
+            List<Long> batch = pending.subList(from, Math.min(from + batchSize, pending.size()));
+            try {
+                expire(batch);
+            } catch (RuntimeException ex) {
+                // Retry on the next tick rather than dropping the deadlines; this includes
+                // transaction failures such as an unreachable database, not just query errors
+                log.warn("Failed to expire {} jobs, will retry: {}", pending.size() - from, ex.getMessage());
+                due.addAll(pending.subList(from, pending.size()));
+                return;
+            }
+        }
+    }
+
+    private void expire(List<Long> batch) {
+        List<Long> expired = transactionTemplate.execute(status -> {
+            // A deadline may have been extended since it was scheduled, so re-check it in the database
+            List<Long> ids = jobPostRepository.findExpiredIds(batch, LocalDateTime.now());
+            if (!ids.isEmpty()) {
+                jobPostRepository.deactivateAll(ids);
+                applicationRepository.rejectPendingForJobs(ids);
+            }
+            return ids;
+        });
+        if (expired == null) {
+            return;
+        }
+        for (Long id : expired) {
+            recommendationService.onJobRemoved(id);
+        }
+        if (expired.size() < batch.size()) {
+            rescheduleExtended(batch, expired);
+        }
+        log.debug("Expired {} jobs", expired.size());
+    }
+
+    // Jobs that fired but were not expired had their deadline moved; put them back at the new one
+    private void rescheduleExtended(List<Long> batch, List<Long> expired) {
+        List<Long> remaining = new ArrayList<>(batch);
+        remaining.removeAll(new HashSet<>(expired));
+        for (Object[] row : jobPostRepository.findActiveDeadlines(remaining)) {
+            schedule((Long) row[0], (LocalDateTime) row[1]);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.careermate.job.recommendation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Maximum inner product index over job vectors. Jobs are packed into fixed-size blocks
+ * and every block keeps the per-skill maximum weight of its members, which gives an
+ * upper bound on the score of anything inside it. Top-K queries visit blocks from the
+ * highest bound down and stop as soon as no remaining block can beat the current K-th score.
+ */
+public class JobVectorIndex {
+
+    static final int BLOCK_SIZE = 128;
+
+    private final List<Block> blocks = new ArrayList<>();
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void upsert(long jobId, SparseVector vector) {
+        if (vector.isEmpty()) {
+            remove(jobId);
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Integer slot = slots.get(jobId);
+            if (slot == null) {
+                slot = allocateSlot();
+                slots.put(jobId, slot);
+            }
+            Block block = blocks.get(slot / BLOCK_SIZE);
+            boolean replaced = block.vectors[slot % BLOCK_SIZE] != null;
+            block.set(slot % BLOCK_SIZE, jobId, vector);
+            if (replaced) {
+                block.recomputeBounds();
+            } else {
+                block.widenBounds(vector);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long jobId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slots.remove(jobId);
+            if (slot == null) {
+                return;
+            }
+            Block block = blocks.get(slot / BLOCK_SIZE);
+            block.set(slot % BLOCK_SIZE, 0L, null);
+            block.recomputeBounds();
+            freeSlots.push(slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            blocks.clear();
+            slots.clear();
+            freeSlots.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public float score(long jobId, SparseVector query) {
+        lock.readLock().lock();
+        try {
+            Integer slot = slots.get(jobId);
+            if (slot == null) {
+                return 0f;
+            }
+            return query.dot(blocks.get(slot / BLOCK_SIZE).vectors[slot % BLOCK_SIZE]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<ScoredJob> topK(SparseVector query, int k) {
+        if (query.isEmpty() || k <= 0) {
+            return new ArrayList<>();
+        }
+        PriorityQueue<ScoredJob> heap = new PriorityQueue<>(k + 1, ScoredJob.BY_SCORE);
+        lock.readLock().lock();
+        try {
+            int blockCount = blocks.size();
+            float[] bounds = new float[blockCount];
+            Integer[] order = new Integer[blockCount];
+            for (int b = 0; b < blockCount; b++) {
+                bounds[b] = blocks.get(b).upperBound(query);
+                order[b] = b;
+            }
+            Arrays.sort(order, (x, y) -> Float.compare(bounds[y], bounds[x]));
+
+            for (Integer b : order) {
+                if (bounds[b] <= 0f) {
+                    break;
+                }
+                if (heap.size() == k && bounds[b] <= heap.peek().getScore()) {
+                    break;
+                }
+                Block block = blocks.get(b);
+                for (int i = 0; i < BLOCK_SIZE; i++) {
+                    SparseVector vector = block.vectors[i];
+                    if (vector == null) {
+                        continue;
+                    }
+                    float score = query.dot(vector);
+                    if (score <= 0f) {
+                        continue;
+                    }
+                    if (heap.size() < k) {
+                        heap.add(new ScoredJob(block.jobIds[i], score));
+                    } else if (score > heap.peek().getScore()) {
+                        heap.poll();
+                        heap.add(new ScoredJob(block.jobIds[i], score));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<ScoredJob> result = new ArrayList<>(heap);
+        result.sort(ScoredJob.BY_SCORE.reversed());
+        return result;
+    }
+
+    private int allocateSlot() {
+        if (!freeSlots.isEmpty()) {
+            return freeSlots.pop();
+        }
+        int slot = slots.size();
+        if (slot / BLOCK_SIZE >= blocks.size()) {
+            blocks.add(new Block());
+        }
+        return slot;
+    }
+
+    private static final class Block {
+        final long[] jobIds = new long[BLOCK_SIZE];
+        final SparseVector[] vectors = new SparseVector[BLOCK_SIZE];
+        final Map<Integer, Float> maxWeights = new HashMap<>();
+
+        void set(int offset, long jobId, SparseVector vector) {
+            jobIds[offset] = jobId;
+            vectors[offset] = vector;
+        }
+
+        void widenBounds(SparseVector vector) {
+            for (int i = 0; i < vector.size(); i++) {
+                maxWeights.merge(vector.indexAt(i), vector.valueAt(i), Math::max);
+            }
+        }
+
+        void recomputeBounds() {
+            maxWeights.clear();
+            for (SparseVector vector : vectors) {
+                if (vector != null) {
+                    widenBounds(vector);
+                }
+            }
+        }
+
+        float upperBound(SparseVector query) {
+            float bound = 0f;
+            for (int i = 0; i < query.size(); i++) {
+                Float max = maxWeights.get(query.indexAt(i));
+                if (max != null) {
+                    bound += query.valueAt(i) * max;
+                }
+            }
+            return bound;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.careermate.job.recommendation;
+
+import java.util.Comparator;
+
+public class ScoredJob {
+
+    public static final Comparator<ScoredJob> BY_SCORE = Comparator.comparingDouble(ScoredJob::getScore);
+
+    private final long jobId;
+    private final float score;
+
+    public ScoredJob(long jobId, float score) {
+        this.jobId = jobId;
+        this.score = score;
+    }
+
+    public long getJobId() { return jobId; }
+
+    public float getScore() { return score; }
+}
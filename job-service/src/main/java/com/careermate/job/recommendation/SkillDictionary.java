@@ -0,0 +1,219 @@
+package com.careermate.job.recommendation;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared skill vocabulary for candidates and jobs. Every skill gets a dense int id
+ * so profiles and postings can be compared as sparse vectors. Only job postings add
+ * skills; candidate queries are matched against what is already known.
+ */
+@Component
+public class SkillDictionary {
+
+    private static final int MAX_PHRASE_WORDS = 3;
+    private static final int MAX_SKILL_LENGTH = 40;
+    private static final int MAX_SKILLS = 20_000;
+
+    private static final String[] SEED_SKILLS = {
+            "java", "spring", "spring boot", "hibernate", "kotlin", "scala", "python", "django", "flask",
+            "fastapi", "javascript", "typescript", "node.js", "react", "angular", "vue", "next.js", "html",
+            "css", "sass", "tailwind", "php", "laravel", "ruby", "rails", "golang", "rust", "c", "c++", "c#",
+            ".net", "swift", "flutter", "android", "ios", "sql", "nosql", "postgresql", "mysql", "oracle",
+            "mongodb", "redis", "elasticsearch", "kafka", "rabbitmq", "graphql", "restful api", "microservices",
+            "docker", "kubernetes", "terraform", "ansible", "jenkins", "ci/cd", "git", "linux", "aws",
+            "azure", "gcp", "machine learning", "deep learning", "nlp", "computer vision", "tensorflow",
+            "pytorch", "pandas", "numpy", "data analysis", "power bi", "tableau", "excel", "figma",
+            "photoshop", "ui/ux", "agile", "scrum", "testing", "selenium", "english", "communication"
+    };
+
+    private static final Map<String, String> ALIASES = new HashMap<>();
+
+    static {
+        ALIASES.put("springboot", "spring boot");
+        ALIASES.put("nodejs", "node.js");
+        ALIASES.put("node", "node.js");
+        ALIASES.put("js", "javascript");
+        ALIASES.put("ts", "typescript");
+        ALIASES.put("reactjs", "react");
+        ALIASES.put("react.js", "react");
+        ALIASES.put("vuejs", "vue");
+        ALIASES.put("vue.js", "vue");
+        ALIASES.put("angularjs", "angular");
+        ALIASES.put("nextjs", "next.js");
+        ALIASES.put("postgres", "postgresql");
+        ALIASES.put("k8s", "kubernetes");
+        ALIASES.put("restful", "restful api");
+        ALIASES.put("restful apis", "restful api");
+        ALIASES.put("rest api", "restful api");
+        ALIASES.put("rest apis", "restful api");
+        ALIASES.put("ml", "machine learning");
+        ALIASES.put("dl", "deep learning");
+        ALIASES.put("csharp", "c#");
+        ALIASES.put("cpp", "c++");
+        ALIASES.put("dotnet", ".net");
+        ALIASES.put("ci", "ci/cd");
+        ALIASES.put("cicd", "ci/cd");
+        ALIASES.put("ux", "ui/ux");
+        ALIASES.put("ui", "ui/ux");
+        ALIASES.put("tiếng anh", "english");
+    }
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final List<String> names = new ArrayList<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    public SkillDictionary() {
+        for (String skill : SEED_SKILLS) {
+            register(skill);
+        }
+    }
+
+    public static String normalize(String raw) {
+        if (raw == null) {
+            return "";
+        }
+        String skill = raw.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+        while (!skill.isEmpty() && ".,;:()".indexOf(skill.charAt(skill.length() - 1)) >= 0) {
+            skill = skill.substring(0, skill.length() - 1);
+        }
+        return ALIASES.getOrDefault(skill, skill);
+    }
+
+    // Adds a skill to the vocabulary (if new) and returns its id
+    public int register(String raw) {
+        String skill = normalize(raw);
+        Integer id = ids.get(skill);
+        if (id != null) {
+            return id;
+        }
+        synchronized (names) {
+            return ids.computeIfAbsent(skill, key -> {
+                names.add(key);
+                return nextId.getAndIncrement();
+            });
+        }
+    }
+
+    public Integer lookup(String raw) {
+        return ids.get(normalize(raw));
+    }
+
+    public String nameOf(int id) {
+        synchronized (names) {
+            return id < names.size() ? names.get(id) : null;
+        }
+    }
+
+    public int size() {
+        return ids.size();
+    }
+
+    /**
+     * Registers the entries of a job posting's skill list ("Java, Spring Boot; Docker") that
+     * look like skill names. Returns true if any of them was new to the dictionary.
+     */
+    public boolean registerSkillList(String csv) {
+        if (csv == null) {
+            return false;
+        }
+        int before = size();
+        for (String part : csv.split("[,;\\n|]")) {
+            String skill = normalize(part);
+            if (!isSkillName(skill)) {
+                continue;
+            }
+            // "CI/CD" is one skill, "JavaScript/TypeScript" is two
+            if (skill.indexOf('/') > 0 && lookup(skill) == null) {
+                for (String piece : skill.split("/")) {
+                    if (isSkillName(normalize(piece)) && size() < MAX_SKILLS) {
+                        register(piece);
+                    }
+                }
+            } else if (size() < MAX_SKILLS) {
+                register(skill);
+            }
+        }
+        return size() != before;
+    }
+
+    // Skill lists from candidates are only looked up, so unknown entries are dropped
+    public void addSkillList(String csv, float weight, Map<Integer, Float> target) {
+        if (csv == null) {
+            return;
+        }
+        for (String part : csv.split("[,;\\n|]")) {
+            String skill = normalize(part);
+            if (skill.isEmpty() || skill.length() > MAX_SKILL_LENGTH) {
+                continue;
+            }
+            Integer id = lookup(skill);
+            if (id != null) {
+                target.merge(id, weight, Math::max);
+            } else if (skill.indexOf('/') > 0) {
+                for (String piece : skill.split("/")) {
+                    Integer pieceId = lookup(piece);
+                    if (pieceId != null) {
+                        target.merge(pieceId, weight, Math::max);
+                    }
+                }
+            }
+        }
+    }
+
+    // Free text only contributes skills the dictionary already knows about
+    public void addMentions(String text, float weight, Map<Integer, Float> target) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        String[] words = text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}+#./]+");
+        for (int i = 0; i < words.length; i++) {
+            StringBuilder phrase = new StringBuilder();
+            for (int n = 0; n < MAX_PHRASE_WORDS && i + n < words.length; n++) {
+                String word = trimPunctuation(words[i + n]);
+                if (word.isEmpty()) {
+                    break;
+                }
+                if (n > 0) {
+                    phrase.append(' ');
+                }
+                phrase.append(word);
+                Integer id = lookup(phrase.toString());
+                if (id != null) {
+                    target.merge(id, weight, Math::max);
+                }
+                // "JavaScript/TypeScript" style mentions
+                if (n == 0 && word.indexOf('/') > 0 && lookup(word) == null) {
+                    for (String piece : word.split("/")) {
+                        Integer pieceId = lookup(piece);
+                        if (pieceId != null) {
+                            target.merge(pieceId, weight, Math::max);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // Short phrases starting with a letter; "3+ years of experience with Java" is not a skill
+    private static boolean isSkillName(String skill) {
+        return !skill.isEmpty() && skill.length() <= MAX_SKILL_LENGTH
+                && (Character.isLetter(skill.charAt(0)) || skill.charAt(0) == '.')
+                && skill.split(" ").length <= MAX_PHRASE_WORDS;
+    }
+
+    private static String trimPunctuation(String word) {
+        int end = word.length();
+        while (end > 0 && (word.charAt(end - 1) == '.' || word.charAt(end - 1) == '/')) {
+            end--;
+        }
+        return word.substring(0, end);
+    }
+}
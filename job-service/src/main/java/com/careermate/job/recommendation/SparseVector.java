@@ -0,0 +1,82 @@
+package com.careermate.job.recommendation;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Immutable L2-normalized sparse vector over skill ids. Indices are sorted so two
+ * vectors can be multiplied with a single merge pass.
+ */
+public final class SparseVector {
+
+    public static final SparseVector EMPTY = new SparseVector(new int[0], new float[0]);
+
+    private final int[] indices;
+    private final float[] values;
+
+    private SparseVector(int[] indices, float[] values) {
+        this.indices = indices;
+        this.values = values;
+    }
+
+    public static SparseVector of(Map<Integer, Float> weights) {
+        if (weights.isEmpty()) {
+            return EMPTY;
+        }
+        int[] indices = new int[weights.size()];
+        int i = 0;
+        for (Integer index : weights.keySet()) {
+            indices[i++] = index;
+        }
+        Arrays.sort(indices);
+
+        float[] values = new float[indices.length];
+        double norm = 0;
+        for (i = 0; i < indices.length; i++) {
+            values[i] = weights.get(indices[i]);
+            norm += values[i] * values[i];
+        }
+        if (norm == 0) {
+            return EMPTY;
+        }
+        float scale = (float) (1.0 / Math.sqrt(norm));
+        for (i = 0; i < values.length; i++) {
+            values[i] *= scale;
+        }
+        return new SparseVector(indices, values);
+    }
+
+    public float dot(SparseVector other) {
+        float sum = 0;
+        int i = 0;
+        int j = 0;
+        while (i < indices.length && j < other.indices.length) {
+            int a = indices[i];
+            int b = other.indices[j];
+            if (a == b) {
+                sum += values[i++] * other.values[j++];
+            } else if (a < b) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return sum;
+    }
+
+    public int size() {
+        return indices.length;
+    }
+
+    public boolean isEmpty() {
+        return indices.length == 0;
+    }
+
+    public int indexAt(int position) {
+        return indices[position];
+    }
+
+    public float valueAt(int position) {
+        return values[position];
+    }
+}
@@ -2,8 +2,12 @@ package com.careermate.job.repository;
 
 import com.careermate.job.entity.Application;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +16,28 @@ public interface ApplicationRepository extends JpaRepository<Application, Long>
     List<Application> findByJobId(Long jobId);
     List<Application> findByCandidateEmail(String candidateEmail);
     Optional<Application> findByJobIdAndCandidateEmail(Long jobId, String candidateEmail);
+
+    // Older rows only carry the email, so they are matched on it until they have an id
+    @Query("SELECT a FROM Application a WHERE a.candidateId = :candidateId " +
+           "OR (a.candidateId IS NULL AND a.candidateEmail = :candidateEmail)")
+    List<Application> findByCandidate(@Param("candidateId") Long candidateId,
+                                      @Param("candidateEmail") String candidateEmail);
+
+    @Modifying
+    @Query("UPDATE Application a SET a.status = 'REJECTED' WHERE a.jobId IN :jobIds AND a.status = 'PENDING'")
+    int rejectPendingForJobs(@Param("jobIds") Collection<Long> jobIds);
+
+    // Archive reads; applications follow their job into applications_archive
+    @Query(value = "SELECT * FROM applications_archive WHERE job_id = :jobId ORDER BY id", nativeQuery = true)
+    List<Application> findArchivedByJobId(@Param("jobId") Long jobId);
+
+    @Query(value = "SELECT * FROM applications_archive WHERE candidate_email = :candidateEmail ORDER BY id DESC",
+           nativeQuery = true)
+    List<Application> findArchivedByCandidateEmail(@Param("candidateEmail") String candidateEmail);
+
+    @Query(value = "SELECT * FROM applications_archive WHERE candidate_id = :candidateId " +
+                   "OR (candidate_id IS NULL AND candidate_email = :candidateEmail) ORDER BY id DESC",
+           nativeQuery = true)
+    List<Application> findArchivedByCandidate(@Param("candidateId") Long candidateId,
+                                              @Param("candidateEmail") String candidateEmail);
 }
@@ -1,11 +1,15 @@
 package com.careermate.job.repository;
 
 import com.careermate.job.entity.JobPost;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -23,4 +27,29 @@ public interface JobPostRepository extends JpaRepository<JobPost, Long> {
     List<JobPost> findByRecruiterId(Long recruiterId);
     
     List<JobPost> findByRecruiterEmailAndIsActiveTrue(String recruiterEmail);
+
+    // Keyset page of (id, deadline) pairs used to rebuild the expiry wheel on startup
+    @Query("SELECT j.id, j.applicationDeadline FROM JobPost j WHERE j.isActive = true " +
+           "AND j.applicationDeadline IS NOT NULL AND j.id > :afterId ORDER BY j.id")
+    List<Object[]> findActiveDeadlinesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT j.id FROM JobPost j WHERE j.id IN :ids AND j.isActive = true " +
+           "AND j.applicationDeadline IS NOT NULL AND j.applicationDeadline <= :now")
+    List<Long> findExpiredIds(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Query("SELECT j.id, j.applicationDeadline FROM JobPost j WHERE j.id IN :ids AND j.isActive = true " +
+           "AND j.applicationDeadline IS NOT NULL")
+    List<Object[]> findActiveDeadlines(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE JobPost j SET j.isActive = false, j.updatedAt = CURRENT_TIMESTAMP WHERE j.id IN :ids")
+    int deactivateAll(@Param("ids") Collection<Long> ids);
+
+    // Archive reads; closed postings are moved to job_posts_archive by JobArchiver
+    @Query(value = "SELECT * FROM job_posts_archive WHERE recruiter_email = :recruiterEmail ORDER BY id DESC",
+           nativeQuery = true)
+    List<JobPost> findArchivedByRecruiterEmail(@Param("recruiterEmail") String recruiterEmail);
+
+    @Query(value = "SELECT * FROM job_posts_archive WHERE id IN :ids", nativeQuery = true)
+    List<JobPost> findArchivedByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -2,14 +2,23 @@ package com.careermate.job.service;
 
 import com.careermate.job.dto.ApplicationResponse;
 import com.careermate.job.dto.JobPostResponse;
+import com.careermate.job.dto.JobSearchResult;
 import com.careermate.job.entity.Application;
 import com.careermate.job.entity.JobPost;
+import com.careermate.job.expiry.JobExpiryScheduler;
 import com.careermate.job.repository.ApplicationRepository;
 import com.careermate.job.repository.JobPostRepository;
+import com.careermate.job.util.SnippetGenerator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,6 +30,12 @@ public class JobService {
     @Autowired
     private ApplicationRepository applicationRepository;
 
+    @Autowired
+    private RecommendationService recommendationService;
+
+    @Autowired
+    private JobExpiryScheduler jobExpiryScheduler;
+
     public List<JobPostResponse> getAllJobs() {
         return jobPostRepository.findByIsActiveTrue().stream()
                 .map(this::convertToResponse)
@@ -36,10 +51,26 @@ public class JobService {
                 .collect(Collectors.toList());
     }
 
-    public List<JobPostResponse> getMyJobs(String recruiterEmail) {
-        return jobPostRepository.findByRecruiterEmailAndIsActiveTrue(recruiterEmail).stream()
+    public List<JobSearchResult> searchJobSnippets(String keyword) {
+        List<JobPost> jobs = keyword == null || keyword.trim().isEmpty()
+                ? jobPostRepository.findByIsActiveTrue()
+                : jobPostRepository.searchJobs(keyword);
+        List<String> terms = SnippetGenerator.parseTerms(keyword);
+        return jobs.stream()
+                .map(job -> convertToSearchResult(job, terms))
+                .collect(Collectors.toList());
+    }
+
+    public List<JobPostResponse> getMyJobs(String recruiterEmail, boolean includeArchived) {
+        List<JobPostResponse> jobs = jobPostRepository.findByRecruiterEmailAndIsActiveTrue(recruiterEmail).stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
+        if (includeArchived) {
+            jobPostRepository.findArchivedByRecruiterEmail(recruiterEmail).stream()
+                    .map(this::convertToResponse)
+                    .forEach(jobs::add);
+        }
+        return jobs;
     }
 
     public JobPostResponse getJobById(Long id) {
@@ -51,14 +82,63 @@ public class JobService {
     public JobPostResponse createJob(JobPost jobPost) {
         jobPost.setIsActive(true);
         JobPost saved = jobPostRepository.save(jobPost);
+        recommendationService.onJobChanged(saved);
+        jobExpiryScheduler.schedule(saved);
         return convertToResponse(saved);
     }
 
-    public ApplicationResponse applyForJob(Long jobId, String candidateEmail, String coverLetter, String cvContent, String cvFileName) {
+    public JobPostResponse updateJob(Long id, JobPost changes, String userEmail, String userRole) {
+        JobPost job = findEditableJob(id, userEmail, userRole);
+        job.setTitle(changes.getTitle() != null ? changes.getTitle() : job.getTitle());
+        job.setDescription(changes.getDescription() != null ? changes.getDescription() : job.getDescription());
+        job.setCompanyName(changes.getCompanyName() != null ? changes.getCompanyName() : job.getCompanyName());
+        job.setLocation(changes.getLocation() != null ? changes.getLocation() : job.getLocation());
+        job.setSalaryRange(changes.getSalaryRange() != null ? changes.getSalaryRange() : job.getSalaryRange());
+        job.setEmploymentType(changes.getEmploymentType() != null ? changes.getEmploymentType() : job.getEmploymentType());
+        job.setExperienceRequired(changes.getExperienceRequired() != null ? changes.getExperienceRequired() : job.getExperienceRequired());
+        job.setRequirements(changes.getRequirements() != null ? changes.getRequirements() : job.getRequirements());
+        job.setAvailableSlots(changes.getAvailableSlots() != null ? changes.getAvailableSlots() : job.getAvailableSlots());
+        job.setApplicationDeadline(changes.getApplicationDeadline() != null ? changes.getApplicationDeadline() : job.getApplicationDeadline());
+        JobPost saved = jobPostRepository.save(job);
+        recommendationService.onJobChanged(saved);
+        jobExpiryScheduler.schedule(saved);
+        return convertToResponse(saved);
+    }
+
+    // Closes the posting the same way expiry does: inactive, pending applications rejected
+    @Transactional
+    public void deactivateJob(Long id, String userEmail, String userRole) {
+        JobPost job = findEditableJob(id, userEmail, userRole);
+        if (!Boolean.TRUE.equals(job.getIsActive())) {
+            return;
+        }
+        jobPostRepository.deactivateAll(List.of(id));
+        applicationRepository.rejectPendingForJobs(List.of(id));
+        jobExpiryScheduler.cancel(id);
+        recommendationService.onJobRemoved(id);
+    }
+
+    private JobPost findEditableJob(Long id, String userEmail, String userRole) {
+        JobPost job = jobPostRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Job not found"));
+        boolean admin = "ROLE_ADMIN".equals(userRole) || "ADMIN".equals(userRole);
+        if (!admin && (userEmail == null || !userEmail.equalsIgnoreCase(job.getRecruiterEmail()))) {
+            throw new IllegalStateException("You can only change your own job postings");
+        }
+        return job;
+    }
+
+    public ApplicationResponse applyForJob(Long jobId, Long candidateId, String candidateEmail, String coverLetter, String cvContent, String cvFileName) {
         // Check if job exists
         JobPost job = jobPostRepository.findById(jobId)
                 .orElseThrow(() -> new RuntimeException("Job not found"));
 
+        // Expired or closed postings no longer take applications; the expiry sweep would never reject them
+        if (!Boolean.TRUE.equals(job.getIsActive())
+                || (job.getApplicationDeadline() != null && job.getApplicationDeadline().isBefore(LocalDateTime.now()))) {
+            throw new IllegalStateException("This job is no longer accepting applications");
+        }
+
         // Check if already applied
         if (applicationRepository.findByJobIdAndCandidateEmail(jobId, candidateEmail).isPresent()) {
             throw new IllegalStateException("You have already applied for this job");
@@ -68,6 +148,7 @@ public class JobService {
         Application application = new Application();
         application.setJobId(jobId);
         application.setCandidateEmail(candidateEmail);
+        application.setCandidateId(candidateId);
         application.setCoverLetter(coverLetter);
         application.setCvContent(cvContent);
         application.setCvFileName(cvFileName);
@@ -77,10 +158,14 @@ public class JobService {
         return convertToApplicationResponse(saved);
     }
 
-    public List<ApplicationResponse> getJobApplications(Long jobId) {
-        return applicationRepository.findByJobId(jobId).stream()
+    public List<ApplicationResponse> getJobApplications(Long jobId, boolean includeArchived) {
+        List<ApplicationResponse> applications = applicationRepository.findByJobId(jobId).stream()
                 .map(this::convertToApplicationResponse)
                 .collect(Collectors.toList());
+        if (includeArchived) {
+            applications.addAll(convertArchivedApplications(applicationRepository.findArchivedByJobId(jobId)));
+        }
+        return applications;
     }
 
     public ApplicationResponse updateApplicationStatus(Long applicationId, String status) {
@@ -103,10 +188,20 @@ public class JobService {
         return convertToApplicationResponse(updated);
     }
 
-    public List<ApplicationResponse> getCandidateApplications(String candidateEmail) {
-        return applicationRepository.findByCandidateEmail(candidateEmail).stream()
+    public List<ApplicationResponse> getCandidateApplications(Long candidateId, String candidateEmail, boolean includeArchived) {
+        List<Application> live = candidateId != null
+                ? applicationRepository.findByCandidate(candidateId, candidateEmail)
+                : applicationRepository.findByCandidateEmail(candidateEmail);
+        List<ApplicationResponse> applications = live.stream()
                 .map(this::convertToApplicationResponse)
                 .collect(Collectors.toList());
+        if (includeArchived) {
+            List<Application> archived = candidateId != null
+                    ? applicationRepository.findArchivedByCandidate(candidateId, candidateEmail)
+                    : applicationRepository.findArchivedByCandidateEmail(candidateEmail);
+            applications.addAll(convertArchivedApplications(archived));
+        }
+        return applications;
     }
     
     private void autoRejectIfSlotsFull(Long jobId) {
@@ -145,11 +240,45 @@ public class JobService {
         response.setExperienceRequired(job.getExperienceRequired());
         response.setRequirements(job.getRequirements());
         response.setAvailableSlots(job.getAvailableSlots());
+        response.setApplicationDeadline(job.getApplicationDeadline());
         response.setCreatedAt(job.getCreatedAt());
         return response;
     }
 
+    private JobSearchResult convertToSearchResult(JobPost job, List<String> terms) {
+        JobSearchResult result = new JobSearchResult();
+        result.setId(job.getId());
+        result.setTitle(job.getTitle());
+        result.setCompanyName(job.getCompanyName());
+        result.setLocation(job.getLocation());
+        result.setSalaryRange(job.getSalaryRange());
+        result.setEmploymentType(job.getEmploymentType());
+        result.setExperienceRequired(job.getExperienceRequired());
+        result.setAvailableSlots(job.getAvailableSlots());
+        result.setCreatedAt(job.getCreatedAt());
+        result.setDescriptionSnippet(SnippetGenerator.generate(job.getDescription(), terms, SnippetGenerator.DEFAULT_WINDOW_TOKENS));
+        result.setRequirementsSnippet(SnippetGenerator.generate(job.getRequirements(), terms, SnippetGenerator.DEFAULT_WINDOW_TOKENS));
+        return result;
+    }
+
     private ApplicationResponse convertToApplicationResponse(Application app) {
+        return convertToApplicationResponse(app, jobPostRepository.findById(app.getJobId()).orElse(null));
+    }
+
+    // Archived applications always belong to archived jobs, so look those up in one query
+    private List<ApplicationResponse> convertArchivedApplications(List<Application> applications) {
+        if (applications.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Set<Long> jobIds = applications.stream().map(Application::getJobId).collect(Collectors.toSet());
+        Map<Long, JobPost> jobs = jobPostRepository.findArchivedByIdIn(jobIds).stream()
+                .collect(Collectors.toMap(JobPost::getId, Function.identity()));
+        return applications.stream()
+                .map(app -> convertToApplicationResponse(app, jobs.get(app.getJobId())))
+                .collect(Collectors.toList());
+    }
+
+    private ApplicationResponse convertToApplicationResponse(Application app, JobPost job) {
         ApplicationResponse response = new ApplicationResponse(
             app.getId(),
             app.getJobId(),
@@ -158,11 +287,11 @@ public class JobService {
             app.getStatus(),
             app.getAppliedAt()
         );
+        response.setCandidateId(app.getCandidateId());
         response.setCvContent(app.getCvContent());
         response.setCvFileName(app.getCvFileName());
         
         // Add job details
-        JobPost job = jobPostRepository.findById(app.getJobId()).orElse(null);
         if (job != null) {
             response.setJobTitle(job.getTitle());
             response.setCompanyName(job.getCompanyName());
@@ -0,0 +1,291 @@
+package com.careermate.job.service;
+
+import com.careermate.job.dto.JobRecommendationResponse;
+import com.careermate.job.dto.RecommendationRequest;
+import com.careermate.job.entity.JobPost;
+import com.careermate.job.recommendation.JobVectorIndex;
+import com.careermate.job.recommendation.ScoredJob;
+import com.careermate.job.recommendation.SkillDictionary;
+import com.careermate.job.recommendation.SparseVector;
+import com.careermate.job.repository.JobPostRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class RecommendationService {
+
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 50;
+    private static final int MAX_CACHED_CANDIDATES = 10_000;
+
+    // Field weights before normalization
+    private static final float REQUIREMENTS_WEIGHT = 1.0f;
+    private static final float TITLE_WEIGHT = 0.8f;
+    private static final float DESCRIPTION_WEIGHT = 0.4f;
+    private static final float PROFILE_SKILLS_WEIGHT = 1.0f;
+    private static final float PROFILE_EXPERIENCE_WEIGHT = 0.5f;
+
+    @Autowired
+    private JobPostRepository jobPostRepository;
+
+    @Autowired
+    private SkillDictionary skillDictionary;
+
+    // Replaced whole on a rebuild so queries never see a half-filled index
+    private volatile JobVectorIndex index = new JobVectorIndex();
+
+    private final Object rebuildLock = new Object();
+    private final AtomicBoolean backfillPending = new AtomicBoolean();
+
+    // Jobs changed while a rebuild reads the database, by id (null once removed); guarded by this
+    private Map<Long, JobPost> changedDuringRebuild;
+
+    // Per-candidate top-K, kept in access order so the least recently used entry is evicted first
+    private final Map<String, CandidateTopK> cache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CandidateTopK> eldest) {
+            return size() > MAX_CACHED_CANDIDATES;
+        }
+    };
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                changedDuringRebuild = new HashMap<>();
+            }
+            try {
+                List<JobPost> jobs = jobPostRepository.findByIsActiveTrue();
+                // Register every posting's skills first so each job is matched against the full vocabulary
+                for (JobPost job : jobs) {
+                    skillDictionary.registerSkillList(job.getRequirements());
+                }
+                JobVectorIndex rebuilt = new JobVectorIndex();
+                for (JobPost job : jobs) {
+                    rebuilt.upsert(job.getId(), vectorizeJob(job));
+                }
+                synchronized (this) {
+                    // The snapshot above may predate these changes, so apply them on top
+                    for (Map.Entry<Long, JobPost> change : changedDuringRebuild.entrySet()) {
+                        if (change.getValue() != null) {
+                            rebuilt.upsert(change.getKey(), vectorizeJob(change.getValue()));
+                        } else {
+                            rebuilt.remove(change.getKey());
+                        }
+                    }
+                    index = rebuilt;
+                    synchronized (cache) {
+                        cache.clear();
+                    }
+                }
+            } finally {
+                synchronized (this) {
+                    changedDuringRebuild = null;
+                }
+            }
+        }
+    }
+
+    // Re-vectorizes every posting once new skills have been registered, off the request path
+    @Scheduled(fixedDelayString = "${jobs.recommendations.backfill-interval-ms:60000}")
+    public void backfillNewSkills() {
+        if (backfillPending.getAndSet(false)) {
+            rebuildIndex();
+        }
+    }
+
+    public List<JobRecommendationResponse> recommend(RecommendationRequest request) {
+        int limit = request.getLimit() == null ? DEFAULT_LIMIT : Math.max(1, Math.min(request.getLimit(), MAX_LIMIT));
+        String email = request.getCandidateEmail();
+        int fingerprint = Objects.hash(request.getSkills(), request.getExperience());
+
+        List<ScoredJob> top = null;
+        SparseVector profile = null;
+        if (email != null) {
+            synchronized (cache) {
+                CandidateTopK cached = cache.get(email);
+                if (cached != null && cached.isUsableFor(fingerprint, limit)) {
+                    top = cached.top(limit);
+                    profile = cached.profile;
+                }
+            }
+        }
+
+        if (top == null) {
+            // Profile is new or changed: only this candidate is re-vectorized and re-ranked
+            profile = vectorizeProfile(request.getSkills(), request.getExperience());
+            top = index.topK(profile, limit);
+            if (email != null) {
+                synchronized (cache) {
+                    cache.put(email, new CandidateTopK(fingerprint, profile, limit, top));
+                }
+            }
+        }
+        return toResponses(top, profile);
+    }
+
+    public synchronized void onJobChanged(JobPost job) {
+        if (job.getId() == null) {
+            return;
+        }
+        if (Boolean.TRUE.equals(job.getIsActive())) {
+            if (skillDictionary.registerSkillList(job.getRequirements())) {
+                // Other postings may mention the new skills in their free text; the next backfill picks them up
+                backfillPending.set(true);
+            }
+            index.upsert(job.getId(), vectorizeJob(job));
+            recordChange(job.getId(), job);
+        } else {
+            index.remove(job.getId());
+            recordChange(job.getId(), null);
+        }
+        refreshCachedRankings(job.getId());
+    }
+
+    public synchronized void onJobRemoved(Long jobId) {
+        index.remove(jobId);
+        recordChange(jobId, null);
+        refreshCachedRankings(jobId);
+    }
+
+    private void recordChange(Long jobId, JobPost job) {
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.put(jobId, job);
+        }
+    }
+
+    // Patch cached rankings with the one changed job instead of recomputing them
+    private void refreshCachedRankings(Long jobId) {
+        synchronized (cache) {
+            for (CandidateTopK entry : cache.values()) {
+                entry.update(jobId, index.score(jobId, entry.profile));
+            }
+        }
+    }
+
+    public SparseVector vectorizeJob(JobPost job) {
+        Map<Integer, Float> weights = new HashMap<>();
+        skillDictionary.addMentions(job.getDescription(), DESCRIPTION_WEIGHT, weights);
+        skillDictionary.addMentions(job.getTitle(), TITLE_WEIGHT, weights);
+        skillDictionary.addMentions(job.getRequirements(), REQUIREMENTS_WEIGHT, weights);
+        return SparseVector.of(weights);
+    }
+
+    public SparseVector vectorizeProfile(String skills, String experience) {
+        Map<Integer, Float> weights = new HashMap<>();
+        skillDictionary.addSkillList(skills, PROFILE_SKILLS_WEIGHT, weights);
+        skillDictionary.addMentions(experience, PROFILE_EXPERIENCE_WEIGHT, weights);
+        return SparseVector.of(weights);
+    }
+
+    private List<JobRecommendationResponse> toResponses(List<ScoredJob> top, SparseVector profile) {
+        if (top.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> ids = top.stream().map(ScoredJob::getJobId).collect(Collectors.toList());
+        Map<Long, JobPost> jobs = jobPostRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(JobPost::getId, Function.identity()));
+
+        List<JobRecommendationResponse> responses = new ArrayList<>(top.size());
+        for (ScoredJob scored : top) {
+            JobPost job = jobs.get(scored.getJobId());
+            if (job == null || !Boolean.TRUE.equals(job.getIsActive())) {
+                continue;
+            }
+            JobRecommendationResponse response = new JobRecommendationResponse();
+            response.setJobId(job.getId());
+            response.setTitle(job.getTitle());
+            response.setCompanyName(job.getCompanyName());
+            response.setLocation(job.getLocation());
+            response.setEmploymentType(job.getEmploymentType());
+            response.setScore(Math.round(scored.getScore() * 1000) / 1000.0);
+            response.setMatchedSkills(matchedSkills(profile, vectorizeJob(job)));
+            responses.add(response);
+        }
+        return responses;
+    }
+
+    private List<String> matchedSkills(SparseVector profile, SparseVector job) {
+        List<String> matched = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while (i < profile.size() && j < job.size()) {
+            int a = profile.indexAt(i);
+            int b = job.indexAt(j);
+            if (a == b) {
+                matched.add(skillDictionary.nameOf(a));
+                i++;
+                j++;
+            } else if (a < b) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return matched;
+    }
+
+    private static class CandidateTopK {
+        final int fingerprint;
+        final SparseVector profile;
+        final int k;
+        final List<ScoredJob> ranked;
+        boolean stale;
+
+        CandidateTopK(int fingerprint, SparseVector profile, int k, List<ScoredJob> ranked) {
+            this.fingerprint = fingerprint;
+            this.profile = profile;
+            this.k = k;
+            this.ranked = new ArrayList<>(ranked);
+        }
+
+        boolean isUsableFor(int fingerprint, int limit) {
+            return !stale && this.fingerprint == fingerprint && limit <= k;
+        }
+
+        List<ScoredJob> top(int limit) {
+            return new ArrayList<>(ranked.subList(0, Math.min(limit, ranked.size())));
+        }
+
+        void update(long jobId, float score) {
+            ScoredJob previous = null;
+            for (ScoredJob scored : ranked) {
+                if (scored.getJobId() == jobId) {
+                    previous = scored;
+                    break;
+                }
+            }
+            boolean full = ranked.size() >= k;
+            if (previous != null) {
+                ranked.remove(previous);
+                if (score < previous.getScore() && full) {
+                    // Something outside the cached K might now outrank this job
+                    stale = true;
+                    return;
+                }
+            } else if (full && score <= ranked.get(ranked.size() - 1).getScore()) {
+                return;
+            }
+            if (score > 0f) {
+                ranked.add(new ScoredJob(jobId, score));
+                ranked.sort(ScoredJob.BY_SCORE.reversed());
+                if (ranked.size() > k) {
+                    ranked.remove(ranked.size() - 1);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.careermate.job.service;
+
+import com.careermate.job.dto.TrendingJobResponse;
+import com.careermate.job.entity.JobPost;
+import com.careermate.job.repository.JobPostRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class TrendingService {
+
+    private static final String FLUSH_SQL =
+            "UPDATE job_posts SET view_count = COALESCE(view_count, 0) + ? WHERE id = ?";
+
+    // Rebase scores before exp() gets anywhere near overflowing
+    private static final double MAX_EXPONENT = 50.0;
+    // Scores that decayed below this many "fresh views" are dropped
+    private static final double MIN_SCORE = 0.01;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JobPostRepository jobPostRepository;
+
+    @Value("${jobs.trending.size:50}")
+    private int trendingSize;
+
+    private final double decayPerMilli;
+
+    // Views since the last flush; only added to through compute() so idle counters can be dropped safely
+    private final Map<Long, LongAdder> pendingViews = new ConcurrentHashMap<>();
+
+    // Decayed scores scaled to landmarkMillis; only touched inside flush()
+    private final Map<Long, Double> scores = new HashMap<>();
+    private long landmarkMillis = System.currentTimeMillis();
+
+    private volatile List<TrendingJobResponse> trending = new ArrayList<>();
+
+    public TrendingService(@Value("${jobs.trending.half-life-minutes:360}") long halfLifeMinutes) {
+        this.decayPerMilli = Math.log(2) / (halfLifeMinutes * 60_000.0);
+    }
+
+    public void recordView(Long jobId) {
+        recordViews(jobId, 1);
+    }
+
+    public List<TrendingJobResponse> getTrendingJobs(int limit) {
+        List<TrendingJobResponse> snapshot = trending;
+        return snapshot.subList(0, Math.min(Math.max(limit, 0), snapshot.size()));
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.trending.flush-interval-ms:10000}")
+    public synchronized void flush() {
+        List<Object[]> batch = new ArrayList<>();
+        for (Map.Entry<Long, LongAdder> entry : pendingViews.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta > 0) {
+                batch.add(new Object[]{delta, entry.getKey()});
+            } else {
+                // Not viewed since the last flush; drop it so the map only holds recently viewed jobs
+                pendingViews.computeIfPresent(entry.getKey(), (id, counter) -> counter.sum() == 0 ? null : counter);
+            }
+        }
+        if (batch.isEmpty()) {
+            // Uniform decay does not change the ranking, so the snapshot stays valid
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+        } catch (DataAccessException ex) {
+            // Keep the counts for the next flush instead of losing them; they are scored once that write succeeds
+            for (Object[] row : batch) {
+                recordViews((Long) row[1], (Long) row[0]);
+            }
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        if (decayPerMilli * (now - landmarkMillis) > MAX_EXPONENT) {
+            rebase(now);
+        }
+        double weight = Math.exp(decayPerMilli * (now - landmarkMillis));
+        for (Object[] row : batch) {
+            scores.merge((Long) row[1], ((Long) row[0]) * weight, Double::sum);
+        }
+        rebuildSnapshot(weight);
+    }
+
+    // Counted inside compute() so flush() cannot drop the counter as idle between the lookup and the add
+    public void recordViews(Long jobId, long views) {
+        pendingViews.compute(jobId, (id, counter) -> {
+            LongAdder target = counter != null ? counter : new LongAdder();
+            target.add(views);
+            return target;
+        });
+    }
+
+    private void rebase(long now) {
+        double factor = Math.exp(-decayPerMilli * (now - landmarkMillis));
+        Iterator<Map.Entry<Long, Double>> it = scores.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Long, Double> entry = it.next();
+            double rescaled = entry.getValue() * factor;
+            if (rescaled < MIN_SCORE) {
+                it.remove();
+            } else {
+                entry.setValue(rescaled);
+            }
+        }
+        landmarkMillis = now;
+    }
+
+    private void rebuildSnapshot(double currentWeight) {
+        PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(trendingSize + 1, Map.Entry.comparingByValue());
+        double floor = MIN_SCORE * currentWeight;
+        Iterator<Map.Entry<Long, Double>> it = scores.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Long, Double> entry = it.next();
+            if (entry.getValue() < floor) {
+                it.remove();
+            } else if (top.size() < trendingSize) {
+                top.add(Map.entry(entry.getKey(), entry.getValue()));
+            } else if (entry.getValue() > top.peek().getValue()) {
+                top.poll();
+                top.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+        }
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(top);
+        ranked.sort(Map.Entry.<Long, Double>comparingByValue().reversed());
+
+        Map<Long, JobPost> jobs = jobPostRepository.findAllById(
+                        ranked.stream().map(Map.Entry::getKey).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(JobPost::getId, Function.identity()));
+
+        List<TrendingJobResponse> snapshot = new ArrayList<>(ranked.size());
+        for (Map.Entry<Long, Double> entry : ranked) {
+            JobPost job = jobs.get(entry.getKey());
+            if (job == null || !Boolean.TRUE.equals(job.getIsActive())) {
+                continue;
+            }
+            TrendingJobResponse response = new TrendingJobResponse();
+            response.setJobId(job.getId());
+            response.setTitle(job.getTitle());
+            response.setCompanyName(job.getCompanyName());
+            response.setLocation(job.getLocation());
+            response.setEmploymentType(job.getEmploymentType());
+            response.setViewCount(job.getViewCount());
+            response.setTrendingScore(Math.round(entry.getValue() / currentWeight * 100) / 100.0);
+            snapshot.add(response);
+        }
+        trending = snapshot;
+    }
+}
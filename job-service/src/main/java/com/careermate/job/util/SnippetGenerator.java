@@ -0,0 +1,151 @@
+package com.careermate.job.util;
+
+import com.careermate.job.dto.SearchSnippet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Cuts a short window of text around the search terms and reports where each
+ * match sits inside that window, so list views never need the full text.
+ */
+public class SnippetGenerator {
+
+    public static final int DEFAULT_WINDOW_TOKENS = 30;
+
+    private static final String ELLIPSIS = "...";
+
+    public static List<String> parseTerms(String keyword) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (keyword != null) {
+            for (String term : keyword.trim().toLowerCase(Locale.ROOT).split("\\s+")) {
+                if (!term.isEmpty()) {
+                    terms.add(term);
+                }
+            }
+        }
+        return new ArrayList<>(terms);
+    }
+
+    public static SearchSnippet generate(String text, List<String> terms, int windowTokens) {
+        if (text == null || text.isEmpty()) {
+            return new SearchSnippet("", new ArrayList<>());
+        }
+
+        // Token positions: starts[i]..ends[i] is the i-th word of the text
+        int[] starts = new int[16];
+        int[] ends = new int[16];
+        int tokenCount = 0;
+        int i = 0;
+        while (i < text.length()) {
+            while (i < text.length() && !Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            if (i >= text.length()) {
+                break;
+            }
+            int start = i;
+            while (i < text.length() && Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            if (tokenCount == starts.length) {
+                starts = Arrays.copyOf(starts, tokenCount * 2);
+                ends = Arrays.copyOf(ends, tokenCount * 2);
+            }
+            starts[tokenCount] = start;
+            ends[tokenCount] = i;
+            tokenCount++;
+        }
+        if (tokenCount == 0) {
+            return new SearchSnippet("", new ArrayList<>());
+        }
+
+        List<int[]> hits = findHits(text, terms);
+        int[] hitTokens = new int[hits.size()];
+        for (int h = 0; h < hits.size(); h++) {
+            hitTokens[h] = tokenAt(starts, tokenCount, hits.get(h)[0]);
+        }
+
+        // Slide over the hits and keep the window covering the most distinct terms, then the most hits
+        int bestFirst = -1;
+        int bestLast = -1;
+        int bestScore = -1;
+        int last = 0;
+        for (int first = 0; first < hits.size(); first++) {
+            if (last < first) {
+                last = first;
+            }
+            while (last + 1 < hits.size() && hitTokens[last + 1] - hitTokens[first] < windowTokens) {
+                last++;
+            }
+            Set<Integer> distinct = new LinkedHashSet<>();
+            for (int h = first; h <= last; h++) {
+                distinct.add(hits.get(h)[2]);
+            }
+            int score = distinct.size() * 1000 + (last - first + 1);
+            if (score > bestScore) {
+                bestScore = score;
+                bestFirst = first;
+                bestLast = last;
+            }
+        }
+
+        int fromToken = 0;
+        if (bestFirst >= 0) {
+            int span = hitTokens[bestLast] - hitTokens[bestFirst] + 1;
+            fromToken = Math.max(0, hitTokens[bestFirst] - (windowTokens - span) / 2);
+        }
+        int toToken = Math.min(tokenCount - 1, fromToken + windowTokens - 1);
+        fromToken = Math.max(0, Math.min(fromToken, toToken - windowTokens + 1));
+
+        int from = starts[fromToken];
+        int to = toToken == tokenCount - 1 ? text.length() : ends[toToken];
+        String prefix = fromToken > 0 ? ELLIPSIS : "";
+        String suffix = to < text.length() ? ELLIPSIS : "";
+
+        List<int[]> highlights = new ArrayList<>();
+        for (int[] hit : hits) {
+            if (hit[0] >= from && hit[1] <= to) {
+                highlights.add(new int[]{hit[0] - from + prefix.length(), hit[1] - from + prefix.length()});
+            }
+        }
+        return new SearchSnippet(prefix + text.substring(from, to) + suffix, highlights);
+    }
+
+    // Each hit is {start, end, termIndex}, sorted by start, overlapping hits dropped
+    private static List<int[]> findHits(String text, List<String> terms) {
+        String haystack = text.toLowerCase(Locale.ROOT);
+        if (haystack.length() != text.length()) {
+            haystack = text;
+        }
+        List<int[]> hits = new ArrayList<>();
+        for (int t = 0; t < terms.size(); t++) {
+            String term = terms.get(t);
+            int at = haystack.indexOf(term);
+            while (at >= 0) {
+                hits.add(new int[]{at, at + term.length(), t});
+                at = haystack.indexOf(term, at + term.length());
+            }
+        }
+        hits.sort((a, b) -> a[0] != b[0] ? Integer.compare(a[0], b[0]) : Integer.compare(b[1], a[1]));
+
+        List<int[]> merged = new ArrayList<>(hits.size());
+        int coveredTo = -1;
+        for (int[] hit : hits) {
+            if (hit[0] >= coveredTo) {
+                merged.add(hit);
+                coveredTo = hit[1];
+            }
+        }
+        return merged;
+    }
+
+    private static int tokenAt(int[] starts, int tokenCount, int offset) {
+        int index = Arrays.binarySearch(starts, 0, tokenCount, offset);
+        return index >= 0 ? index : Math.max(0, -index - 2);
+    }
+}
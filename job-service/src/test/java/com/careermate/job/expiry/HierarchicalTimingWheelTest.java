@@ -0,0 +1,119 @@
+package com.careermate.job.expiry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * With a 10ms tick and 8 slots, level 0 spans 80ms, level 1 640ms, level 2 5.12s and
+ * level 3 40.96s. Deadlines fire on the first tick at or after them.
+ */
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 10;
+    private static final int SLOTS = 8;
+
+    @Test
+    void firesALevelZeroDeadlineOnTheFirstTickAfterIt() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, SLOTS, 0);
+        assertTrue(wheel.schedule(1L, 35));
+
+        assertTrue(wheel.advanceTo(39).isEmpty());
+        assertEquals(List.of(1L), wheel.advanceTo(40));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void firesDeadlinesPlacedOnEveryLevelOnTime() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, SLOTS, 0);
+        long[] deadlines = {75, 500, 3_001, 20_005};
+        for (int i = 0; i < deadlines.length; i++) {
+            assertTrue(wheel.schedule(i, deadlines[i]));
+        }
+
+        for (int i = 0; i < deadlines.length; i++) {
+            assertEquals(roundUp(deadlines[i]), fireTime(wheel, i, 50_000), "deadline " + deadlines[i]);
+        }
+    }
+
+    @Test
+    void cascadesAHigherLevelEntryWhenItsWindowStarts() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, SLOTS, 0);
+        // 95ms is past level 0, so it waits in level 1 until the 80ms window opens
+        assertTrue(wheel.schedule(7L, 95));
+
+        assertTrue(wheel.advanceTo(80).isEmpty());
+        assertEquals(1, wheel.size());
+        assertTrue(wheel.advanceTo(99).isEmpty());
+        assertEquals(List.of(7L), wheel.advanceTo(100));
+    }
+
+    @Test
+    void keepsDeadlinesBeyondTheTopLevelUntilTheyAreDue() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, SLOTS, 0);
+        // Well past the 40.96s the top level can express, so it has to overflow and cascade
+        assertTrue(wheel.schedule(9L, 1_000_003));
+        assertTrue(wheel.schedule(10L, 41_000));
+
+        assertEquals(roundUp(41_000), fireTime(wheel, 10L, 2_000_000));
+        assertEquals(roundUp(1_000_003), fireTime(wheel, 9L, 2_000_000));
+    }
+
+    @Test
+    void startsFromAnUnalignedClock() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, SLOTS, 1_234_567);
+        assertTrue(wheel.schedule(3L, 1_234_600));
+
+        assertEquals(roundUp(1_234_600), fireTime(wheel, 3L, 1_300_000));
+    }
+
+    @Test
+    void reschedulingMovesTheDeadline() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, SLOTS, 0);
+        assertTrue(wheel.schedule(1L, 50));
+        assertTrue(wheel.schedule(1L, 2_000));
+
+        assertEquals(1, wheel.size());
+        assertEquals(roundUp(2_000), fireTime(wheel, 1L, 10_000));
+    }
+
+    @Test
+    void cancelledDeadlinesNeverFire() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, SLOTS, 0);
+        assertTrue(wheel.schedule(1L, 50));
+        assertTrue(wheel.schedule(2L, 3_000));
+        assertTrue(wheel.cancel(1L));
+        assertTrue(wheel.cancel(2L));
+        assertFalse(wheel.cancel(2L));
+
+        assertTrue(wheel.advanceTo(10_000).isEmpty());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void refusesDeadlinesThatAreAlreadyDue() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, SLOTS, 1_000);
+
+        assertFalse(wheel.schedule(1L, 1_000));
+        assertFalse(wheel.schedule(2L, 500));
+        assertEquals(0, wheel.size());
+    }
+
+    // Advances one tick at a time, as the scheduler does, and returns the time the job fired
+    private static long fireTime(HierarchicalTimingWheel wheel, long jobId, long untilMs) {
+        for (long now = 0; now <= untilMs; now += TICK) {
+            if (wheel.advanceTo(now).contains(jobId)) {
+                return now;
+            }
+        }
+        return -1;
+    }
+
+    private static long roundUp(long ms) {
+        return (ms + TICK - 1) / TICK * TICK;
+    }
+}
@@ -29,7 +29,14 @@ public class RecruiterController {
     }
     
     @PostMapping("/jobs")
-    public ResponseEntity<?> createJobPosting(@RequestBody JobPosting jobPosting) {
+    public ResponseEntity<?> createJobPosting(
+            @RequestBody JobPosting jobPosting,
+            @RequestHeader(value = "X-User-Id", required = false) Long userId) {
+        // The gateway identity wins; the body value is only for internal calls without it
+        if (userId != null) {
+            jobPosting.setRecruiterId(userId);
+        }
+        
         // Upload JD to AI service
         Integer aiJdId = aiService.uploadJobDescription(jobPosting.getDescription(), jobPosting.getIndustry());
         jobPosting.setAiJdId(aiJdId);
@@ -39,8 +46,14 @@ public class RecruiterController {
     }
     
     @GetMapping("/jobs")
-    public ResponseEntity<List<JobPosting>> getMyJobs(@RequestParam Long recruiterId) {
-        return ResponseEntity.ok(jobPostingRepository.findByRecruiterId(recruiterId));
+    public ResponseEntity<List<JobPosting>> getMyJobs(
+            @RequestParam(required = false) Long recruiterId,
+            @RequestHeader(value = "X-User-Id", required = false) Long userId) {
+        Long id = userId != null ? userId : recruiterId;
+        if (id == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(jobPostingRepository.findByRecruiterId(id));
     }
     
     @GetMapping("/jobs/{id}")
@@ -90,6 +103,18 @@ public class RecruiterController {
         return ResponseEntity.ok(rankings);
     }
     
+    @GetMapping("/applications")
+    public ResponseEntity<List<Application>> getCandidateApplications(
+            @RequestParam(required = false) Long candidateId,
+            @RequestHeader(value = "X-User-Id", required = false) Long userId) {
+        // The gateway identity wins over the query parameter
+        Long id = userId != null ? userId : candidateId;
+        if (id == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(applicationRepository.findByCandidateId(id));
+    }
+    
     @PutMapping("/applications/{id}/status")
     public ResponseEntity<Application> updateApplicationStatus(
             @PathVariable Long id,
@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "job_postings")
+@Table(name = "job_postings", indexes = {
+    @Index(name = "idx_job_posting_recruiter", columnList = "recruiter_id")
+})
 public class JobPosting {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)